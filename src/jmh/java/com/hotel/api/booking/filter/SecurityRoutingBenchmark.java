@@ -0,0 +1,106 @@
+package com.hotel.api.booking.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The routing work both security filters do per request, over a mix of public, owned and unguarded paths.
+ * {@code regexPerFilter} is the previous code: the public-endpoint patterns are tried once in each filter, then
+ * three endpoint matchers and a method list decide the ownership check. {@code routeClassifier} classifies the path
+ * once and lets the second filter read the result back from the request. Token parsing and ownership lookups are
+ * left out since both variants share them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityRoutingBenchmark {
+
+    private static final List<Pattern> publicEndPoints = List.of(
+            Pattern.compile("/api/v1/users/login"),
+            Pattern.compile("/api/v1/users/sign-up"),
+            Pattern.compile("/swagger-ui/*"),
+            Pattern.compile("/v3/api-docs"),
+            Pattern.compile("/v3/api-docs/*")
+    );
+    private final Pattern hotelEndPoint = Pattern.compile("/api/v1/hotels/(\\d+)$");
+    private final Pattern roomEndpoint = Pattern.compile("/api/v1/hotels/(\\d+)/rooms/(\\d*)$");
+    private final Pattern bookingEndpoint = Pattern.compile("/api/v1/hotels/(\\d+)/rooms/(\\d+)/bookings/(\\d*)$");
+
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+
+    private final String[][] requests = {
+            {"GET", "/api/v1/hotels/"},
+            {"GET", "/api/v1/hotels/42"},
+            {"PUT", "/api/v1/hotels/42"},
+            {"POST", "/api/v1/hotels/42/rooms/"},
+            {"GET", "/api/v1/hotels/42/rooms/available"},
+            {"GET", "/api/v1/hotels/42/rooms/1337/bookings/98765"},
+            {"POST", "/api/v1/hotels/42/rooms/1337/bookings"},
+            {"POST", "/api/v1/users/login"},
+    };
+    private int next;
+
+    @Benchmark
+    public long regexPerFilter() {
+        HttpServletRequest request = nextRequest();
+        if (isPublic(request.getRequestURI()))
+            return 0;
+        if (isPublic(request.getRequestURI()))
+            return 0;
+        String pathSegment = request.getRequestURI();
+        String httpMethod = request.getMethod();
+        Matcher hotelMatcher = hotelEndPoint.matcher(pathSegment);
+        Matcher roomMatcher = roomEndpoint.matcher(pathSegment);
+        Matcher bookingMatcher = bookingEndpoint.matcher(pathSegment);
+        if (bookingMatcher.find() && List.of("GET", "PUT", "DELETE").contains(httpMethod))
+            return bookingMatcher.group(3).isBlank()
+                    ? Long.parseLong(bookingMatcher.group(1)) : Long.parseLong(bookingMatcher.group(3));
+        else if (roomMatcher.find() && List.of("POST", "PUT", "DELETE").contains(httpMethod))
+            return Long.parseLong(roomMatcher.group(1));
+        else if (hotelMatcher.find() && List.of("PUT", "DELETE").contains(httpMethod))
+            return Long.parseLong(hotelMatcher.group(1));
+        return -1;
+    }
+
+    @Benchmark
+    public long routeClassifier() {
+        HttpServletRequest request = nextRequest();
+        if (routeClassifier.classify(request).isPublic())
+            return 0;
+        Route route = routeClassifier.classify(request);
+        if (!route.requiresOwnership(request.getMethod()))
+            return -1;
+        return route.bookingId() != null ? route.bookingId() : route.hotelId();
+    }
+
+    private static boolean isPublic(String path) {
+        for (Pattern pattern : publicEndPoints)
+            if (pattern.matcher(path).find())
+                return true;
+        return false;
+    }
+
+    private HttpServletRequest nextRequest() {
+        String[] request = requests[next++ % requests.length];
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getMethod" -> request[0];
+                    case "getRequestURI" -> request[1];
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    default -> null;
+                });
+    }
+}
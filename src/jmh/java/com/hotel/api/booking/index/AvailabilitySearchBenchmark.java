@@ -0,0 +1,119 @@
+package com.hotel.api.booking.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.api.booking.dto.response.HotelAvailabilityResponseDTO;
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A city search over {@code hotels} hotels. {@code perHotelCalls} repeats what one
+ * {@code /rooms/available} call does per hotel: filter the overlapping bookings, filter the rooms and
+ * serialize a JSON array. {@code indexedSearch} answers the same search from {@link OccupancyIndex} and writes
+ * one NDJSON line per hotel. Network and database round trips saved by the single call are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilitySearchBenchmark {
+
+    @Param({"50"})
+    public int hotels;
+
+    @Param({"100"})
+    public int roomsPerHotel;
+
+    @Param({"20"})
+    public int bookingsPerRoom;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Date checkIn = Date.valueOf(LocalDate.now().plusDays(30));
+    private final Date checkOut = Date.valueOf(LocalDate.now().plusDays(33));
+
+    private OccupancyIndex index;
+    private Map<Long, List<IndexedRoom>> roomsByHotel;
+    private Map<Long, List<BookingStay>> staysByHotel;
+    private List<Long> hotelIds;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<IndexedRoom> rooms = new ArrayList<>();
+        List<BookingStay> stays = new ArrayList<>();
+        long bookingId = 0;
+        for (long hotelId = 1; hotelId <= hotels; hotelId++) {
+            for (int number = 1; number <= roomsPerHotel; number++) {
+                long roomId = hotelId * 10_000 + number;
+                rooms.add(new IndexedRoom(hotelId, roomId, number, RoomType.SINGLE, 1000, RoomStatus.AVAILABLE));
+                for (int i = 0; i < bookingsPerRoom; i++) {
+                    LocalDate start = LocalDate.now().plusDays(random.nextInt(365));
+                    stays.add(new BookingStay(++bookingId, roomId, Date.valueOf(start),
+                            Date.valueOf(start.plusDays(random.nextInt(1, 8)))));
+                }
+            }
+        }
+        Map<Long, Long> hotelOfRoom = rooms.stream()
+                .collect(Collectors.toMap(IndexedRoom::id, IndexedRoom::hotelId));
+        roomsByHotel = rooms.stream().collect(Collectors.groupingBy(IndexedRoom::hotelId));
+        staysByHotel = stays.stream().collect(Collectors.groupingBy(stay -> hotelOfRoom.get(stay.roomId())));
+        hotelIds = new ArrayList<>(roomsByHotel.keySet());
+
+        index = new OccupancyIndex(stub(RoomRepository.class, rooms), stub(BookingRepository.class, stays), true);
+        index.seed();
+    }
+
+    @Benchmark
+    public byte[] perHotelCalls() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Long hotelId : hotelIds) {
+            Set<Long> bookedRoomIds = staysByHotel.getOrDefault(hotelId, List.of()).stream()
+                    .filter(stay -> overlaps(stay, checkIn, checkOut))
+                    .map(BookingStay::roomId)
+                    .collect(Collectors.toSet());
+            List<RoomResponseDTO> available = roomsByHotel.get(hotelId).stream()
+                    .filter(room -> !bookedRoomIds.contains(room.id()))
+                    .filter(room -> room.status() == RoomStatus.AVAILABLE)
+                    .map(IndexedRoom::toResponse)
+                    .toList();
+            out.write(mapper.writeValueAsBytes(available));
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] indexedSearch() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Long hotelId : hotelIds) {
+            out.write(mapper.writeValueAsBytes(new HotelAvailabilityResponseDTO(hotelId,
+                    index.findAvailableRooms(hotelId, checkIn, checkOut))));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean overlaps(BookingStay stay, Date checkIn, Date checkOut) {
+        return !stay.checkIn().after(checkOut) && !stay.checkOut().before(checkIn);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repository, List<?> rows) {
+        return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> rows);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.NearbyHotelResponseDTO;
+import com.hotel.api.booking.repository.HotelRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * k-nearest-neighbour lookups over {@code hotels} hotels clustered around a few hundred cities.
+ * {@code fullScan} measures every hotel, as a query over the unindexed table would; {@code indexed} walks
+ * {@link GeoIndex} cells outward from the query point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoIndexBenchmark {
+
+    @Param({"300000"})
+    public int hotels;
+
+    @Param({"10"})
+    public int limit;
+
+    private final List<IndexedHotel> rows = new ArrayList<>();
+    private final List<double[]> cities = new ArrayList<>();
+    private GeoIndex index;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++)
+            cities.add(new double[]{random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180});
+        for (long id = 1; id <= hotels; id++) {
+            double[] city = cities.get(random.nextInt(cities.size()));
+            rows.add(new IndexedHotel(id, "Hotel " + id, 10,
+                    Math.max(-90, Math.min(90, city[0] + random.nextGaussian() * 0.2)),
+                    city[1] + random.nextGaussian() * 0.2));
+        }
+        HotelRepository repository = (HotelRepository) Proxy.newProxyInstance(HotelRepository.class.getClassLoader(),
+                new Class<?>[]{HotelRepository.class}, (proxy, method, args) -> rows);
+        index = new GeoIndex(repository, 0.25);
+        index.seed();
+    }
+
+    @Benchmark
+    public List<NearbyHotelResponseDTO> indexed() {
+        double[] point = queryPoint();
+        return index.findNearest(point[0], point[1], limit, Double.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<IndexedHotel> fullScan() {
+        double[] point = queryPoint();
+        PriorityQueue<Map.Entry<Double, IndexedHotel>> nearest =
+                new PriorityQueue<>(Map.Entry.<Double, IndexedHotel>comparingByKey().reversed());
+        for (IndexedHotel hotel : rows) {
+            double distance = GeoIndex.distanceKm(point[0], point[1], hotel.latitude(), hotel.longitude());
+            if (nearest.size() < limit) {
+                nearest.add(Map.entry(distance, hotel));
+            } else if (distance < nearest.peek().getKey()) {
+                nearest.poll();
+                nearest.add(Map.entry(distance, hotel));
+            }
+        }
+        return nearest.stream().sorted(Map.Entry.comparingByKey()).map(Map.Entry::getValue).toList();
+    }
+
+    private double[] queryPoint() {
+        double[] city = cities.get(ThreadLocalRandom.current().nextInt(cities.size()));
+        return new double[]{city[0] + 0.05, city[1] - 0.05};
+    }
+}
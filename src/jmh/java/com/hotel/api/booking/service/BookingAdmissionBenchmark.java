@@ -0,0 +1,105 @@
+package com.hotel.api.booking.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hundreds of threads racing to book a handful of rooms. {@code globalLock} serializes every admission the way
+ * a stricter isolation level would; {@code stripedRoomLocks} goes through {@link BookingAdmissionService} and only
+ * serializes admissions for the same room. The critical section parks for {@code roundTripMicros} in place of the
+ * availability query and insert round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(256)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingAdmissionBenchmark {
+
+    private static final int HORIZON_DAYS = 365;
+
+    @Param({"1", "4", "16"})
+    public int rooms;
+
+    @Param({"100"})
+    public int roundTripMicros;
+
+    private final ReentrantLock globalLock = new ReentrantLock();
+    private BookingAdmissionService admissionService;
+    private BitSet[] occupancy;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long admitted;
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void createAdmissionService() {
+        admissionService = new BookingAdmissionService(null, 256, false);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOccupancy() {
+        occupancy = new BitSet[rooms];
+        for (int i = 0; i < rooms; i++)
+            occupancy[i] = new BitSet(HORIZON_DAYS);
+    }
+
+    @Benchmark
+    public void stripedRoomLocks(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int room = random.nextInt(rooms);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            admissionService.admit((long) room);
+            book(room, random, outcomes);
+        } finally {
+            complete();
+        }
+    }
+
+    @Benchmark
+    public void globalLock(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int room = random.nextInt(rooms);
+        globalLock.lock();
+        try {
+            book(room, random, outcomes);
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    private void book(int room, ThreadLocalRandom random, Outcomes outcomes) {
+        int from = random.nextInt(HORIZON_DAYS);
+        int to = from + random.nextInt(1, 8);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        BitSet days = occupancy[room];
+        int next = days.nextSetBit(from);
+        if (next != -1 && next <= to) {
+            outcomes.conflicts++;
+            return;
+        }
+        days.set(from, to + 1);
+        outcomes.admitted++;
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,98 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
+import com.hotel.api.booking.index.BookingStay;
+import com.hotel.api.booking.index.IndexedRoom;
+import com.hotel.api.booking.index.OccupancyIndex;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RoomService#getAvailableRooms} for one hotel of {@code rooms} rooms. {@code indexed} is answered from
+ * {@link OccupancyIndex}; {@code repositories} has the index switched off and filters what the two repository
+ * queries return. The repositories are in-memory stubs that compute the booked rooms on the fly, so the query
+ * itself is included but the database round trips are not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomAvailabilityBenchmark {
+
+    private static final long HOTEL_ID = 1;
+
+    @Param({"100", "1000"})
+    public int rooms;
+
+    @Param({"20"})
+    public int bookingsPerRoom;
+
+    private final Date checkIn = Date.valueOf(LocalDate.now().plusDays(30));
+    private final Date checkOut = Date.valueOf(LocalDate.now().plusDays(33));
+
+    private RoomService indexedService;
+    private RoomService repositoryService;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<IndexedRoom> indexedRooms = new ArrayList<>();
+        List<BookingStay> stays = new ArrayList<>();
+        long bookingId = 0;
+        for (int number = 1; number <= rooms; number++) {
+            indexedRooms.add(new IndexedRoom(HOTEL_ID, (long) number, number, RoomType.SINGLE, 1000,
+                    number % 10 == 0 ? RoomStatus.UNAVAILABLE : RoomStatus.AVAILABLE));
+            for (int i = 0; i < bookingsPerRoom; i++) {
+                LocalDate start = LocalDate.now().plusDays(random.nextInt(365));
+                stays.add(new BookingStay(++bookingId, (long) number, Date.valueOf(start),
+                        Date.valueOf(start.plusDays(random.nextInt(1, 8)))));
+            }
+        }
+        RoomRepository roomRepo = stub(RoomRepository.class, (method, args) -> indexedRooms);
+        BookingRepository bookingRepo = stub(BookingRepository.class, (method, args) -> switch (method) {
+            case "findBookedRoomIdsByHotelIdsAndDate" -> stays.stream()
+                    .filter(stay -> !stay.checkIn().after((Date) args[2]) && !stay.checkOut().before((Date) args[1]))
+                    .map(BookingStay::roomId)
+                    .collect(Collectors.toSet());
+            default -> stays;
+        });
+
+        OccupancyIndex index = new OccupancyIndex(roomRepo, bookingRepo, true);
+        index.seed();
+        indexedService = new RoomService(roomRepo, null, bookingRepo, index, null, 100);
+        repositoryService = new RoomService(roomRepo, null, bookingRepo,
+                new OccupancyIndex(roomRepo, bookingRepo, false), null, 100);
+    }
+
+    @Benchmark
+    public List<RoomResponseDTO> indexed() {
+        return indexedService.getAvailableRooms(HOTEL_ID, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public List<RoomResponseDTO> repositories() {
+        return repositoryService.getAvailableRooms(HOTEL_ID, checkIn, checkOut);
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> repository, Answer answer) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> answer.answer(method.getName(), args)));
+    }
+}
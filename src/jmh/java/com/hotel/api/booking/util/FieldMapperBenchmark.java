@@ -0,0 +1,87 @@
+package com.hotel.api.booking.util;
+
+import com.hotel.api.booking.dto.request.HotelCreateRequestDTO;
+import com.hotel.api.booking.dto.request.RoomInfoDTO;
+import com.hotel.api.booking.dto.request.UserDTO;
+import com.hotel.api.booking.model.GeoLocation;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.model.Room;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request DTO to entity copies as done by the create/update endpoints. {@code reflective*} is the field-by-field
+ * lookup {@link GeneralUtils#map} used to do on every call, including the exception for a DTO field with no
+ * assignable counterpart (the staff {@code user} of a hotel). {@code compiled*} goes through {@link FieldMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldMapperBenchmark {
+
+    private RoomInfoDTO room;
+    private HotelCreateRequestDTO hotel;
+
+    @Setup
+    public void createRequests() {
+        room = new RoomInfoDTO(101, RoomType.DOUBLE, 2500, RoomStatus.AVAILABLE);
+        GeoLocation location = new GeoLocation();
+        location.setLatitude(12.97);
+        location.setLongitude(77.59);
+        hotel = new HotelCreateRequestDTO("Taj hotel", 100, location,
+                new UserDTO("Staff", "staff@hotel.com", "password1"));
+    }
+
+    @Benchmark
+    public Room reflectiveRoom() {
+        Room target = new Room();
+        reflectiveMap(room, target, false);
+        return target;
+    }
+
+    @Benchmark
+    public Room compiledRoom() {
+        Room target = new Room();
+        FieldMapper.map(room, target, false);
+        return target;
+    }
+
+    @Benchmark
+    public Hotel reflectiveHotel() {
+        Hotel target = new Hotel();
+        reflectiveMap(hotel, target, false);
+        return target;
+    }
+
+    @Benchmark
+    public Hotel compiledHotel() {
+        Hotel target = new Hotel();
+        FieldMapper.map(hotel, target, false);
+        return target;
+    }
+
+    private static void reflectiveMap(Object source, Object target, boolean shouldMapId) {
+        for (Field field : source.getClass().getDeclaredFields()) {
+            if (!shouldMapId && field.getName().equals("id"))
+                continue;
+            try {
+                field.setAccessible(true);
+                Object value = field.get(source);
+                if (value == null)
+                    continue;
+                Field targetField = target.getClass().getDeclaredField(field.getName());
+                targetField.setAccessible(true);
+                targetField.set(target, value);
+            } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException ignored) {
+                // the original logged a stack trace here; that cost is left out
+            }
+        }
+    }
+}
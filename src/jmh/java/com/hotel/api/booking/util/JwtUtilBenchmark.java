@@ -0,0 +1,63 @@
+package com.hotel.api.booking.util;
+
+import com.hotel.api.booking.model.Authority;
+import com.hotel.api.booking.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on login and on every authenticated request. {@code verifyRepeated}
+ * checks the same token again and again, the usual case for a client making several calls; {@code verifyDistinct}
+ * cycles through more tokens than {@link JwtUtil} keeps verified, so nearly every call checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final int DISTINCT_TOKENS = 1 << 15;
+
+    private User user;
+    private String token;
+    private User[] users;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void issueTokens() {
+        user = user(1);
+        token = JwtUtil.generateToken(user);
+        users = new User[DISTINCT_TOKENS];
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            users[i] = user(i + 2);
+            tokens[i] = JwtUtil.generateToken(users[i]);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return JwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean verifyRepeated() {
+        return new JwtUtil(token).isTokenValid(user);
+    }
+
+    @Benchmark
+    public boolean verifyDistinct() {
+        int i = next++ & (DISTINCT_TOKENS - 1);
+        return new JwtUtil(tokens[i]).isTokenValid(users[i]);
+    }
+
+    private static User user(long id) {
+        User user = new User("Guest " + id, "guest" + id + "@mail.com", "secret", Authority.USER);
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,51 @@
+package com.hotel.api.booking.util;
+
+import com.hotel.api.booking.exception.RoomNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a request thread pays for {@link Logger#logException}: building the event and handing it to the async
+ * writer. The exceptions are created once, so their own stack capture is not measured, and the sink logger has no
+ * handlers so the writer thread does not flood the console. Events the writer cannot keep up with are dropped,
+ * which is the behaviour under a burst of errors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggerBenchmark {
+
+    private static final String SINK = "com.hotel.api.booking.util.LoggerBenchmark.sink";
+
+    private Logger logger;
+    private RoomNotFoundException applicationException;
+    private IllegalStateException unexpectedException;
+
+    @Setup(Level.Trial)
+    public void createLogger() {
+        java.util.logging.Logger.getLogger(SINK).setUseParentHandlers(false);
+        logger = new Logger(SINK);
+        applicationException = new RoomNotFoundException(1108);
+        unexpectedException = new IllegalStateException("Unexpected");
+    }
+
+    @Benchmark
+    public void applicationException() {
+        logger.logException(applicationException);
+    }
+
+    @Benchmark
+    public void unexpectedException() {
+        logger.logException(unexpectedException, "Booking failed");
+    }
+
+    @Benchmark
+    public void message() {
+        logger.log("Booking created");
+    }
+}
@@ -0,0 +1,166 @@
+package com.hotel.api.booking.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads synthetic guests, hotels (each with its staff account), rooms and bookings with {@code COPY}, then
+ * moves the id sequences past the new rows. The schema must already exist, so start the application once against
+ * the database first, and restart it after seeding so the in-memory indexes pick up the new rows.
+ *
+ * <pre>./gradlew seedLoadTest -Dloadtest.hotels=100000 -Dloadtest.rooms-per-hotel=20</pre>
+ */
+public class DataSeeder {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+    private static final int CITIES = 300;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "user_data", "user_seq", "hotel", "hotel_seq", "room", "room_seq", "booking", "booking_seq");
+
+    private interface RowWriter {
+        void write(long row, StringBuilder line);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = Settings.string("jdbc-url", "jdbc:postgresql://localhost:5433/hotel_booking");
+        String user = Settings.string("db-user", System.getenv("DB_USER"));
+        String password = Settings.string("db-password", System.getenv("DB_PASSWORD"));
+        int hotels = Settings.integer("hotels", 100_000);
+        int roomsPerHotel = Settings.integer("rooms-per-hotel", 20);
+        int bookingsPerRoom = Settings.integer("bookings-per-room", 2);
+        int guests = Settings.integer("guests", 10_000);
+        SplittableRandom random = new SplittableRandom(Settings.longValue("seed", 42));
+        Path datasetFile = Settings.path("dataset", "build/loadtest/dataset.properties");
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long userBase = nextId(connection, "user_data");
+            long staffBase = userBase + guests;
+            long hotelBase = nextId(connection, "hotel");
+            long roomBase = nextId(connection, "room");
+            long bookingBase = nextId(connection, "booking");
+            Dataset dataset = new Dataset(hotelBase, hotels, roomBase, roomsPerHotel, userBase, guests);
+            String passwordHash = new BCryptPasswordEncoder().encode(Dataset.PASSWORD);
+            double[][] cities = cities(random);
+            long rooms = (long) hotels * roomsPerHotel;
+            LocalDate today = LocalDate.now();
+
+            copy(copyManager, "user_data", "id, name, email, password, authority", guests + (long) hotels,
+                    (row, line) -> {
+                        boolean guest = row < guests;
+                        long id = userBase + row;
+                        line.append(id).append(',')
+                                .append(guest ? "Guest " + row : "Staff " + (row - guests)).append(',')
+                                .append(guest ? Dataset.guestEmail(row) : Dataset.staffEmail(row - guests)).append(',')
+                                .append(passwordHash).append(',')
+                                .append(guest ? "USER" : "HOTEL");
+                    });
+            copy(copyManager, "hotel", "id, name, room_count, current_room_count, latitude, longitude, user_id, deleted",
+                    hotels, (row, line) -> {
+                        double[] city = cities[random.nextInt(CITIES)];
+                        line.append(hotelBase + row).append(",Load hotel ").append(row).append(',')
+                                .append(roomsPerHotel).append(',').append(roomsPerHotel).append(',')
+                                .append(clamp(city[0] + random.nextDouble(-0.2, 0.2), 90)).append(',')
+                                .append(clamp(city[1] + random.nextDouble(-0.2, 0.2), 180)).append(',')
+                                .append(staffBase + row).append(",false");
+                    });
+            copy(copyManager, "room", "id, room_number, type, price, status, hotel_id", rooms, (row, line) -> {
+                long number = row % roomsPerHotel + 1;
+                line.append(roomBase + row).append(',').append(number).append(',')
+                        .append(number % 2 == 0 ? "DOUBLE" : "SINGLE").append(',')
+                        .append(1000 + random.nextInt(9000)).append(',')
+                        .append(number % 10 == 0 ? "UNAVAILABLE" : "AVAILABLE").append(',')
+                        .append(hotelBase + row / roomsPerHotel);
+            });
+            // Stays of one room are 14 days apart and at most 3 nights long, so they never overlap.
+            copy(copyManager, "booking", "id, guest_name, address, phone, hotel_id, room_id, user_id, check_in, check_out",
+                    rooms * bookingsPerRoom, (row, line) -> {
+                        long room = row / bookingsPerRoom;
+                        LocalDate checkIn = today.plusDays(30 + (row % bookingsPerRoom) * 14 + room % 10);
+                        long guest = random.nextInt(guests);
+                        line.append(bookingBase + row).append(",Guest ").append(guest)
+                                .append(",Load street ").append(guest).append(',')
+                                .append(9_000_000_000L + guest).append(',')
+                                .append(hotelBase + room / roomsPerHotel).append(',')
+                                .append(roomBase + room).append(',')
+                                .append(userBase + guest).append(',')
+                                .append(checkIn).append(',').append(checkIn.plusDays(1 + random.nextInt(3)));
+                    });
+
+            advanceSequences(connection);
+            dataset.store(datasetFile);
+            System.out.println("Dataset written to " + datasetFile.toAbsolutePath()
+                    + "; restart the application so its indexes load the new rows");
+        }
+    }
+
+    private static void copy(CopyManager copyManager, String table, String columns, long rows, RowWriter writer)
+            throws SQLException {
+        long start = System.nanoTime();
+        CopyIn copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+            for (long row = 0; row < rows; row++) {
+                writer.write(row, buffer);
+                buffer.append('\n');
+                if (buffer.length() >= FLUSH_CHARS) {
+                    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    buffer.setLength(0);
+                }
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive())
+                copyIn.cancelCopy();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10s %,12d rows in %6.1f s (%,.0f rows/s)%n", table, rows, seconds, rows / seconds);
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            result.next();
+            return result.getLong(1);
+        } catch (SQLException exception) {
+            throw new SQLException("Table " + table + " is missing, start the application once to create the schema",
+                    exception);
+        }
+    }
+
+    // Hibernate's pooled sequences hand out a block below or above the returned value, so leave a full block free.
+    private static void advanceSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> sequence : SEQUENCES.entrySet())
+                statement.execute("select setval('" + sequence.getValue() + "', (select coalesce(max(id), 0) + 100 from "
+                        + sequence.getKey() + "))");
+        }
+    }
+
+    private static double[][] cities(SplittableRandom random) {
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++)
+            cities[i] = new double[]{random.nextDouble(-60, 70), random.nextDouble(-180, 180)};
+        return cities;
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+}
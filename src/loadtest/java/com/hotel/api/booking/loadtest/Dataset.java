@@ -0,0 +1,65 @@
+package com.hotel.api.booking.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Where the seeded rows live, written by {@link DataSeeder} and read by {@link LoadGenerator} so the traffic can
+ * address hotels, rooms and guests by id without querying for them. Ids within each range are contiguous; room
+ * {@code j} of hotel {@code i} is {@code roomBase + i * roomsPerHotel + j}.
+ */
+record Dataset(long hotelBase, int hotels, long roomBase, int roomsPerHotel, long guestBase, int guests) {
+
+    static final String PASSWORD = "loadtest-password";
+
+    static String guestEmail(long guest) {
+        return "guest-" + guest + "@loadtest.local";
+    }
+
+    static String staffEmail(long hotel) {
+        return "staff-" + hotel + "@loadtest.local";
+    }
+
+    long hotelId(int hotel) {
+        return hotelBase + hotel;
+    }
+
+    long roomId(int hotel, int room) {
+        return roomBase + (long) hotel * roomsPerHotel + room;
+    }
+
+    void store(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("hotelBase", Long.toString(hotelBase));
+        properties.setProperty("hotels", Integer.toString(hotels));
+        properties.setProperty("roomBase", Long.toString(roomBase));
+        properties.setProperty("roomsPerHotel", Integer.toString(roomsPerHotel));
+        properties.setProperty("guestBase", Long.toString(guestBase));
+        properties.setProperty("guests", Integer.toString(guests));
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Seeded by DataSeeder");
+        }
+    }
+
+    static Dataset load(Path file) throws IOException {
+        if (!Files.exists(file))
+            throw new IllegalStateException(file + " not found, run ./gradlew seedLoadTest first");
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return new Dataset(
+                Long.parseLong(properties.getProperty("hotelBase")),
+                Integer.parseInt(properties.getProperty("hotels")),
+                Long.parseLong(properties.getProperty("roomBase")),
+                Integer.parseInt(properties.getProperty("roomsPerHotel")),
+                Long.parseLong(properties.getProperty("guestBase")),
+                Integer.parseInt(properties.getProperty("guests")));
+    }
+}
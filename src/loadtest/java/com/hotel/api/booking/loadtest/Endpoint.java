@@ -0,0 +1,54 @@
+package com.hotel.api.booking.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The calls the generator mixes, with default weights loosely following a booking site: mostly browsing and
+ * availability, a few bookings and cancellations, the odd login. Override with
+ * {@code -Dloadtest.mix=search:40,book:20,...}; endpoints left out keep their default weight, weight 0 disables one.
+ */
+enum Endpoint {
+    LOGIN("login", 5),
+    HOTEL_PAGE("hotels", 15),
+    HOTEL("hotel", 10),
+    ROOM_PAGE("rooms", 15),
+    ROOM_AVAILABILITY("available", 20),
+    AVAILABILITY_SEARCH("search", 20),
+    BOOK("book", 10),
+    CANCEL("cancel", 5);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Endpoint(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Map<Endpoint, Integer> mix(String overrides) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : values())
+            weights.put(endpoint, endpoint.defaultWeight);
+        if (overrides == null || overrides.isBlank())
+            return weights;
+        for (String entry : overrides.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Mix entries look like search:40, got " + entry);
+            weights.put(byKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Endpoint byKey(String key) {
+        for (Endpoint endpoint : values())
+            if (endpoint.key.equals(key))
+                return endpoint;
+        throw new IllegalArgumentException("Unknown endpoint " + key);
+    }
+}
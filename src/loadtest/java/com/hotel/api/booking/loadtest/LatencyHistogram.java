@@ -0,0 +1,48 @@
+package com.hotel.api.booking.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram with buckets growing by 2%, so any percentile is reported within 2% of the true
+ * value whatever its magnitude, from one microsecond up to hours.
+ */
+final class LatencyHistogram {
+
+    private static final double GROWTH = 1.02;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(1200);
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        buckets.incrementAndGet(Math.min(buckets.length() - 1, (int) (Math.log(micros) / LOG_GROWTH)));
+        maxMicros.accumulate(micros);
+    }
+
+    long count() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++)
+            count += buckets.get(i);
+        return count;
+    }
+
+    double percentileMillis(double percentile) {
+        long total = count();
+        if (total == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank)
+                return Math.min(maxMicros.get(), Math.pow(GROWTH, i + 1)) / 1000;
+        }
+        return maxMillis();
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+}
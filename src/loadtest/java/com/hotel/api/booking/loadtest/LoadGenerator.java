@@ -0,0 +1,329 @@
+package com.hotel.api.booking.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hotel.api.booking.dto.request.AuthenticationRequestDTO;
+import com.hotel.api.booking.dto.request.BookingRequestDTO;
+import com.hotel.api.booking.dto.response.AuthenticationResponseDTO;
+import com.hotel.api.booking.dto.response.EntityCreatedResponseDTO;
+import com.hotel.api.booking.model.ContactInfo;
+import com.hotel.api.booking.util.CursorUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Sends a weighted mix of calls (see {@link Endpoint}) to a running instance at a fixed rate against the rows
+ * written by {@link DataSeeder}, then prints throughput and latency percentiles per endpoint and writes them as
+ * JSON. The load is open loop: latency is measured from when a request was due rather than when it went out, so a
+ * stalled server shows up in the percentiles instead of quietly slowing the generator down, and a request that
+ * would exceed {@code max-in-flight} is counted as overload instead of being sent late.
+ *
+ * <pre>./gradlew loadTest -Dloadtest.rate=500 -Dloadtest.duration-seconds=120</pre>
+ *
+ * With {@code clients} set the load is closed loop instead: that many clients each send their next call as soon as
+ * the previous one returns, and latency is measured from when a call went out. This is the mode for comparing the
+ * platform and virtual thread executors at a fixed concurrency; start the application once with
+ * {@code VIRTUAL_THREADS=false} and once with {@code VIRTUAL_THREADS=true} and label each run:
+ *
+ * <pre>./gradlew loadTest -Dloadtest.clients=5000 -Dloadtest.label=virtual</pre>
+ */
+public class LoadGenerator {
+
+    private static final int SEARCH_HOTELS = 10;
+
+    private record Session(String token) {
+    }
+
+    private record BookedStay(long hotelId, long roomId, long bookingId, Session session) {
+    }
+
+    private record Call(Endpoint endpoint, HttpRequest request, Consumer<String> onSuccess) {
+    }
+
+    private static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder overload = new LongAdder();
+    }
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final Dataset dataset;
+    private final Endpoint[] wheel;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Queue<BookedStay> bookedStays = new ConcurrentLinkedQueue<>();
+    private final LocalDate today = LocalDate.now();
+    private Session[] sessions;
+
+    LoadGenerator(URI baseUri, Duration timeout, Dataset dataset, Map<Endpoint, Integer> mix) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.dataset = dataset;
+        List<Endpoint> slots = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> slots.addAll(Collections.nCopies(weight, endpoint)));
+        if (slots.isEmpty())
+            throw new IllegalArgumentException("Every endpoint has weight 0");
+        this.wheel = slots.toArray(Endpoint[]::new);
+        for (Endpoint endpoint : Endpoint.values())
+            stats.put(endpoint, new EndpointStats());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Dataset dataset = Dataset.load(Settings.path("dataset", "build/loadtest/dataset.properties"));
+        LoadGenerator generator = new LoadGenerator(
+                URI.create(Settings.string("base-url", "http://localhost:8080")),
+                Duration.ofSeconds(Settings.integer("timeout-seconds", 30)),
+                dataset,
+                Endpoint.mix(Settings.string("mix", "")));
+        int clients = Settings.integer("clients", 0);
+        if (clients > 0)
+            generator.runClients(clients,
+                    Settings.integer("warmup-seconds", 10),
+                    Settings.integer("duration-seconds", 60),
+                    Settings.integer("sessions", 100));
+        else
+            generator.run(Settings.decimal("rate", 200),
+                    Settings.integer("warmup-seconds", 10),
+                    Settings.integer("duration-seconds", 60),
+                    Settings.integer("max-in-flight", 1000),
+                    Settings.integer("sessions", 100));
+        generator.report(Settings.integer("duration-seconds", 60),
+                Settings.path("results-dir", "build/loadtest"),
+                Settings.string("label", ""));
+    }
+
+    void run(double rate, int warmupSeconds, int durationSeconds, int maxInFlight, int sessionCount)
+            throws InterruptedException {
+        sessions = login(Math.min(sessionCount, dataset.guests()));
+        System.out.printf("Logged in %d guests; %d s warm-up, then %d s at %.0f requests/s%n",
+                sessions.length, warmupSeconds, durationSeconds, rate);
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom();
+        long interval = Math.max(1, Math.round(1e9 / rate));
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            boolean measured = due >= measureFrom;
+            Call call = prepare(wheel[random.nextInt(wheel.length)], random);
+            if (!inFlight.tryAcquire()) {
+                if (measured)
+                    stats.get(call.endpoint()).overload.increment();
+                continue;
+            }
+            send(call, due, measured).whenComplete((ignored, failure) -> inFlight.release());
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS))
+            System.out.println("Some requests were still in flight after 60 s and are left out");
+    }
+
+    void runClients(int clients, int warmupSeconds, int durationSeconds, int sessionCount) {
+        sessions = login(Math.min(sessionCount, dataset.guests()));
+        System.out.printf("Logged in %d guests; %d s warm-up, then %d s with %d clients%n",
+                sessions.length, warmupSeconds, durationSeconds, clients);
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                executor.execute(() -> {
+                    SplittableRandom random = new SplittableRandom();
+                    for (long sent = System.nanoTime(); sent < end; sent = System.nanoTime()) {
+                        Call call = prepare(wheel[random.nextInt(wheel.length)], random);
+                        try {
+                            send(call, sent, sent >= measureFrom).join();
+                        } catch (CompletionException exception) {
+                            // the response was already counted; only its follow-up failed
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private Call prepare(Endpoint endpoint, SplittableRandom random) {
+        int hotel = random.nextInt(dataset.hotels());
+        long hotelId = dataset.hotelId(hotel);
+        Session session = sessions[random.nextInt(sessions.length)];
+        LocalDate checkIn = today.plusDays(30 + random.nextInt(300));
+        String stay = "checkIn=" + checkIn + "&checkOut=" + checkIn.plusDays(1 + random.nextInt(5));
+        return switch (endpoint) {
+            case LOGIN -> new Call(endpoint, post("/api/v1/users/login", null, new AuthenticationRequestDTO(
+                    Dataset.guestEmail(random.nextInt(dataset.guests())), Dataset.PASSWORD)), null);
+            case HOTEL_PAGE -> new Call(endpoint,
+                    get("/api/v1/hotels/?size=20&after=" + CursorUtils.encode(hotelId - 1), session), null);
+            case HOTEL -> new Call(endpoint, get("/api/v1/hotels/" + hotelId, session), null);
+            case ROOM_PAGE -> new Call(endpoint, get("/api/v1/hotels/" + hotelId + "/rooms/?size="
+                    + Math.min(dataset.roomsPerHotel(), CursorUtils.MAX_PAGE_SIZE), session), null);
+            case ROOM_AVAILABILITY -> new Call(endpoint,
+                    get("/api/v1/hotels/" + hotelId + "/rooms/available?" + stay, session), null);
+            case AVAILABILITY_SEARCH -> new Call(endpoint, get("/api/v1/availability/search?hotelIds="
+                    + LongStream.range(0, SEARCH_HOTELS)
+                    .mapToObj(offset -> Long.toString(dataset.hotelId((int) ((hotel + offset) % dataset.hotels()))))
+                    .collect(Collectors.joining(","))
+                    + "&" + stay, session), null);
+            case BOOK -> book(hotel, random, session);
+            case CANCEL -> {
+                BookedStay booked = bookedStays.poll();
+                if (booked == null)
+                    yield book(hotel, random, session);
+                yield new Call(endpoint, delete("/api/v1/hotels/" + booked.hotelId() + "/rooms/" + booked.roomId()
+                        + "/bookings/" + booked.bookingId(), booked.session()), null);
+            }
+        };
+    }
+
+    // Bookings go well past the seeded stays, so most of them succeed and give CANCEL something to cancel.
+    private Call book(int hotel, SplittableRandom random, Session session) {
+        long hotelId = dataset.hotelId(hotel);
+        long roomId = dataset.roomId(hotel, random.nextInt(dataset.roomsPerHotel()));
+        LocalDate checkIn = today.plusDays(400 + random.nextInt(360));
+        BookingRequestDTO booking = new BookingRequestDTO("Load guest",
+                new ContactInfo("Load street", 9_000_000_000L + random.nextInt(1_000_000)),
+                Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(1 + random.nextInt(3))));
+        return new Call(Endpoint.BOOK, post("/api/v1/hotels/" + hotelId + "/rooms/" + roomId + "/bookings",
+                session, booking), body -> bookedStays.add(new BookedStay(hotelId, roomId,
+                read(body, EntityCreatedResponseDTO.class).id(), session)));
+    }
+
+    private CompletableFuture<Void> send(Call call, long due, boolean measured) {
+        EndpointStats endpointStats = stats.get(call.endpoint());
+        return client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString()).handle((response, failure) -> {
+            if (measured) {
+                endpointStats.latency.record(System.nanoTime() - due);
+                if (failure != null || response.statusCode() >= 500)
+                    endpointStats.errors.increment();
+                else if (response.statusCode() >= 400)
+                    endpointStats.rejected.increment();
+                else
+                    endpointStats.ok.increment();
+            }
+            if (failure == null && response.statusCode() < 300 && call.onSuccess() != null)
+                call.onSuccess().accept(response.body());
+            return null;
+        });
+    }
+
+    private Session[] login(int count) {
+        List<CompletableFuture<Session>> logins = new ArrayList<>();
+        for (int guest = 0; guest < count; guest++) {
+            HttpRequest request = post("/api/v1/users/login", null,
+                    new AuthenticationRequestDTO(Dataset.guestEmail(guest), Dataset.PASSWORD));
+            logins.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+                if (response.statusCode() != 200)
+                    throw new IllegalStateException("Login failed with " + response.statusCode() + ": "
+                            + response.body());
+                return new Session(read(response.body(), AuthenticationResponseDTO.class).token());
+            }));
+        }
+        return logins.stream().map(CompletableFuture::join).toArray(Session[]::new);
+    }
+
+    void report(int durationSeconds, Path resultsDir, String label) throws IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        System.out.printf("%n%-10s %9s %9s %9s %8s %9s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "ok",
+                "rejected", "errors", "overload", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            long requests = endpointStats.latency.count();
+            if (requests == 0 && endpointStats.overload.sum() == 0)
+                continue;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", entry.getKey().key());
+            result.put("requests", requests);
+            result.put("ok", endpointStats.ok.sum());
+            result.put("rejected", endpointStats.rejected.sum());
+            result.put("errors", endpointStats.errors.sum());
+            result.put("overload", endpointStats.overload.sum());
+            result.put("throughput", (double) requests / durationSeconds);
+            result.put("p50Millis", endpointStats.latency.percentileMillis(50));
+            result.put("p90Millis", endpointStats.latency.percentileMillis(90));
+            result.put("p99Millis", endpointStats.latency.percentileMillis(99));
+            result.put("p999Millis", endpointStats.latency.percentileMillis(99.9));
+            result.put("maxMillis", endpointStats.latency.maxMillis());
+            results.add(result);
+            System.out.printf("%-10s %9d %9d %9d %8d %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.values().toArray());
+        }
+        Files.createDirectories(resultsDir);
+        Path file = resultsDir.resolve("results-" + (label.isEmpty() ? "" : label + "-")
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), results);
+        System.out.println("Results written to " + file.toAbsolutePath());
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return request(path, session).GET().build();
+    }
+
+    private HttpRequest delete(String path, Session session) {
+        return request(path, session).DELETE().build();
+    }
+
+    private HttpRequest post(String path, Session session, Object body) {
+        try {
+            return request(path, session)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+        if (session != null)
+            builder.header("Authorization", "Bearer " + session.token());
+        return builder;
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return mapper.readValue(body, type);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.hotel.api.booking.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Reads {@code -Dloadtest.<name>=<value>} options; the Gradle tasks forward every {@code loadtest.*} property.
+ */
+final class Settings {
+
+    private static final String PREFIX = "loadtest.";
+
+    private Settings() {
+    }
+
+    static String string(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    static int integer(String name, int defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null ? defaultValue : Integer.parseInt(value.replace("_", ""));
+    }
+
+    static long longValue(String name, long defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    static double decimal(String name, double defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    static Path path(String name, String defaultValue) {
+        return Path.of(string(name, defaultValue));
+    }
+}
@@ -4,7 +4,9 @@ import com.hotel.api.booking.exception.UserNotFoundException;
 import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.User;
 import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.util.BoundedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,15 +29,19 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${booking.password-hashing.threads:0}") int threads,
+            @Value("${booking.password-hashing.queue-size:64}") int queueSize) {
+        if (threads <= 0)
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueSize);
     }
 
     @Bean
-    public AuthenticationProvider authProvider() {
+    public AuthenticationProvider authProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService());
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
@@ -45,12 +51,12 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public void addAdminUser() {
+    public void addAdminUser(PasswordEncoder passwordEncoder) {
         if (userRepo.findByAuthority(Authority.ADMIN).isEmpty())
             userRepo.save(new User(
                     "Hotel Booking Admin",
                     "admin@admin.com",
-                    passwordEncoder().encode("admin"),
+                    passwordEncoder.encode("admin"),
                     Authority.ADMIN
             ));
     }
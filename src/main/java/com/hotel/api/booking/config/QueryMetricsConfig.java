@@ -0,0 +1,26 @@
+package com.hotel.api.booking.config;
+
+import com.hotel.api.booking.util.QueryCountingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSource(
+            @Value("${booking.query-metrics.enabled:true}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource))
+                    return new QueryCountingDataSource(dataSource);
+                return bean;
+            }
+        };
+    }
+}
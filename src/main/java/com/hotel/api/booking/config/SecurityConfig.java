@@ -2,6 +2,7 @@ package com.hotel.api.booking.config;
 
 import com.hotel.api.booking.filter.JwtAuthenticationFilter;
 import com.hotel.api.booking.filter.RoleAuthorizationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,8 +21,6 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
-import java.util.regex.Pattern;
 
 @Configuration
 @EnableWebSecurity
@@ -33,14 +32,6 @@ public class SecurityConfig {
     private final RoleAuthorizationFilter roleAuthorizationFilter;
     private final HandlerExceptionResolver exceptionResolver;
 
-    public static List<Pattern> publicEndPoints = List.of(
-            Pattern.compile("/api/v1/users/login"),
-            Pattern.compile("/api/v1/users/sign-up"),
-            Pattern.compile("/swagger-ui/*"),
-            Pattern.compile("/v3/api-docs"),
-            Pattern.compile("/v3/api-docs/*")
-    );
-
     public SecurityConfig(AuthenticationProvider authProvider,
                           JwtAuthenticationFilter jwtAuthenticationFilter,
                           RoleAuthorizationFilter roleAuthorizationFilter,
@@ -57,11 +48,15 @@ public class SecurityConfig {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(req -> req
+                        // Streamed listings finish on an async dispatch of a request that was already authorized.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/users/login").permitAll()
                         .requestMatchers("/api/v1/users/sign-up").permitAll()
                         .requestMatchers("/swagger-ui/*").permitAll()
                         .requestMatchers("/v3/api-docs").permitAll()
                         .requestMatchers("/v3/api-docs/*").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").permitAll()
                         .anyRequest().authenticated())
                 .authenticationProvider(authProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -0,0 +1,41 @@
+package com.hotel.api.booking.controller;
+
+import com.hotel.api.booking.dto.response.OwnershipCacheStatsResponseDTO;
+import com.hotel.api.booking.dto.response.QueryMetricsResponseDTO;
+import com.hotel.api.booking.service.OwnershipCache;
+import com.hotel.api.booking.service.QueryMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Admin API", description = "API endpoints for operating the service")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+    private final OwnershipCache ownershipCache;
+    private final QueryMetrics queryMetrics;
+
+    @Operation(summary = "Hit and miss counts of the ownership cache used for authorization checks")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/ownership-cache")
+    public OwnershipCacheStatsResponseDTO ownershipCacheStats() {
+        return ownershipCache.getStats();
+    }
+
+    @Operation(summary = "SQL statements, rows and statement time per endpoint since startup")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/query-metrics")
+    public List<QueryMetricsResponseDTO> queryMetrics() {
+        return queryMetrics.getStats();
+    }
+}
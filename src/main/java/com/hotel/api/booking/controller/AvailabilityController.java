@@ -0,0 +1,82 @@
+package com.hotel.api.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.api.booking.dto.request.AvailabilitySearchRequestDTO;
+import com.hotel.api.booking.dto.response.HotelAvailabilityResponseDTO;
+import com.hotel.api.booking.exception.CheckInInPastException;
+import com.hotel.api.booking.exception.CheckOutBeforeCheckInException;
+import com.hotel.api.booking.exception.InvalidAvailabilitySearchException;
+import com.hotel.api.booking.service.HotelService;
+import com.hotel.api.booking.service.RoomService;
+import com.hotel.api.booking.util.NdjsonWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Tag(name = "Availability API", description = "API endpoints for searching availability across hotels")
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequestMapping("/api/v1/availability")
+public class AvailabilityController {
+
+    private final RoomService roomService;
+    private final HotelService hotelService;
+    private final ObjectMapper mapper;
+    private final int maxHotels;
+
+    public AvailabilityController(RoomService roomService,
+                                  HotelService hotelService,
+                                  ObjectMapper mapper,
+                                  @Value("${booking.availability-search.max-hotels:500}") int maxHotels) {
+        this.roomService = roomService;
+        this.hotelService = hotelService;
+        this.mapper = mapper;
+        this.maxHotels = maxHotels;
+    }
+
+    @Operation(summary = "Stream available rooms of several hotels, one hotel per line")
+    @GetMapping("/search")
+    public void searchAvailableRooms(@Valid AvailabilitySearchRequestDTO searchDTO,
+                                     HttpServletResponse response) throws IOException {
+        if (searchDTO.checkOut().before(searchDTO.checkIn()))
+            throw new CheckOutBeforeCheckInException(1601);
+        if (searchDTO.checkIn().before(new Date(System.currentTimeMillis())))
+            throw new CheckInInPastException(1602);
+        Collection<Long> hotelIds = resolveHotelIds(searchDTO);
+
+        NdjsonWriter writer = new NdjsonWriter(mapper, response);
+        try (Stream<HotelAvailabilityResponseDTO> results =
+                     roomService.searchAvailableRooms(hotelIds, searchDTO.checkIn(), searchDTO.checkOut())) {
+            for (HotelAvailabilityResponseDTO result : (Iterable<HotelAvailabilityResponseDTO>) results::iterator) {
+                writer.write(result);
+                writer.flush();
+            }
+        }
+    }
+
+    private Collection<Long> resolveHotelIds(AvailabilitySearchRequestDTO searchDTO) {
+        if (searchDTO.hotelIds() != null && !searchDTO.hotelIds().isEmpty()) {
+            Set<Long> hotelIds = new LinkedHashSet<>(searchDTO.hotelIds());
+            if (hotelIds.size() > maxHotels)
+                throw new InvalidAvailabilitySearchException(1603);
+            return hotelIds;
+        }
+        if (!searchDTO.hasBoundingBox())
+            throw new InvalidAvailabilitySearchException(1604);
+        return hotelService.getHotelIdsWithin(searchDTO.minLatitude(), searchDTO.maxLatitude(),
+                searchDTO.minLongitude(), searchDTO.maxLongitude(), maxHotels);
+    }
+}
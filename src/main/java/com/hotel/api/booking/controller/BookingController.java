@@ -1,7 +1,10 @@
 package com.hotel.api.booking.controller;
 
+import com.hotel.api.booking.dto.request.BatchBookingRequestDTO;
 import com.hotel.api.booking.dto.request.BookingRequestDTO;
+import com.hotel.api.booking.dto.response.BatchBookingResponseDTO;
 import com.hotel.api.booking.dto.response.BookingResponseDTO;
+import com.hotel.api.booking.dto.response.CursorPageResponseDTO;
 import com.hotel.api.booking.dto.response.EntityCreatedResponseDTO;
 import com.hotel.api.booking.exception.BookingNotFoundException;
 import com.hotel.api.booking.exception.CheckInInPastException;
@@ -10,17 +13,22 @@ import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.Booking;
 import com.hotel.api.booking.model.User;
 import com.hotel.api.booking.service.BookingService;
+import com.hotel.api.booking.util.CursorUtils;
 import com.hotel.api.booking.util.GeneralUtils;
+import com.hotel.api.booking.util.JsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Date;
 import java.util.List;
@@ -34,45 +42,52 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final JsonStreamWriter streamWriter;
 
-    @Operation(summary = "List all bookings that belongs to a hotel/user")
-    @Transactional
+    @Operation(summary = "List bookings that belong to a hotel/user, one page at a time")
     @GetMapping("/bookings")
-    public List<BookingResponseDTO> listAllBookingsOfSpecificHotel(@PathVariable Long hotelId) {
-
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (user.getAuthority().equals(Authority.USER)) {
-            return bookingService.getAllBookingsOfUserInAHotel(user.getId(), hotelId)
-                    .stream().map(booking ->
-                            new BookingResponseDTO(
-                                    booking.getId(), booking.getRoom().getId(),
-                                    booking.getGuestName(), booking.getContactInfo(),
-                                    booking.getCheckIn(), booking.getCheckOut()))
-                    .toList();
-        }
-        return bookingService.getAllBookingsInAHotel(hotelId)
-                .stream().map(booking ->
-                        new BookingResponseDTO(
-                                booking.getId(), booking.getRoom().getId(),
-                                booking.getGuestName(), booking.getContactInfo(),
-                                booking.getCheckIn(), booking.getCheckOut()))
-                .toList();
+    public CursorPageResponseDTO<BookingResponseDTO> listAllBookingsOfSpecificHotel(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        User user = currentUser();
+        Long afterId = CursorUtils.decode(after, 1321);
+        int pageSize = CursorUtils.pageSize(size, 1322);
+        return isGuest(user)
+                ? bookingService.getBookingsOfUserInAHotel(user.getId(), hotelId, afterId, pageSize)
+                : bookingService.getBookingsInAHotel(hotelId, afterId, pageSize);
+    }
+
+    @Operation(summary = "Stream every booking that belongs to a hotel/user as a JSON array, or as NDJSON when " +
+            "asked for")
+    @GetMapping("/bookings/stream")
+    public ResponseEntity<StreamingResponseBody> streamBookingsOfSpecificHotel(@PathVariable Long hotelId,
+                                                                               HttpServletRequest request) {
+        User user = currentUser();
+        return streamWriter.stream(isGuest(user)
+                ? () -> bookingService.getAllBookingsOfUserInAHotel(user.getId(), hotelId)
+                : () -> bookingService.getAllBookingsInAHotel(hotelId), request);
     }
 
-    @Operation(summary = "List all bookings registered on a specific room")
+    @Operation(summary = "List bookings registered on a specific room, one page at a time")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('HOTEL')")
     @GetMapping("rooms/{roomId}/bookings")
-    List<BookingResponseDTO> listAllBooking(@PathVariable Long hotelId, @PathVariable Long roomId) {
-        return bookingService.getAllBookingForRoom(hotelId, roomId)
-                .stream()
-                .map(booking -> new BookingResponseDTO(
-                        booking.getId(),
-                        booking.getRoom().getId(),
-                        booking.getGuestName(),
-                        booking.getContactInfo(),
-                        booking.getCheckIn(),
-                        booking.getCheckOut()
-                )).toList();
+    CursorPageResponseDTO<BookingResponseDTO> listAllBooking(@PathVariable Long hotelId,
+                                                             @PathVariable Long roomId,
+                                                             @RequestParam(required = false) String after,
+                                                             @RequestParam(required = false) Integer size) {
+        return bookingService.getBookingsForRoom(hotelId, roomId,
+                CursorUtils.decode(after, 1323), CursorUtils.pageSize(size, 1324));
+    }
+
+    @Operation(summary = "Stream every booking registered on a specific room as a JSON array, or as NDJSON when " +
+            "asked for")
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('HOTEL')")
+    @GetMapping("rooms/{roomId}/bookings/stream")
+    ResponseEntity<StreamingResponseBody> streamBookingsOfRoom(@PathVariable Long hotelId,
+                                                               @PathVariable Long roomId,
+                                                               HttpServletRequest request) {
+        return streamWriter.stream(() -> bookingService.getAllBookingForRoom(hotelId, roomId), request);
     }
 
     @Operation(summary = "Get details about a specific booking")
@@ -80,11 +95,7 @@ public class BookingController {
     BookingResponseDTO getBookingDetails(@PathVariable Long hotelId,
                                          @PathVariable Long roomId,
                                          @PathVariable Long bookingId) {
-        Booking booking = bookingService.getBookingDetails(hotelId, roomId, bookingId).orElseThrow(() -> new BookingNotFoundException(1344));
-        return new BookingResponseDTO(
-                booking.getId(), booking.getRoom().getId(),
-                booking.getGuestName(), booking.getContactInfo(),
-                booking.getCheckIn(), booking.getCheckOut());
+        return bookingService.getBookingDetails(hotelId, roomId, bookingId).orElseThrow(() -> new BookingNotFoundException(1344));
     }
 
     @Operation(summary = "Book a room in a Hotel")
@@ -105,6 +116,23 @@ public class BookingController {
         return new EntityCreatedResponseDTO(booking.getId(), "Room Booked successfully");
     }
 
+    @Operation(summary = "Book several rooms of a Hotel for the same stay, either all of them or none")
+    @Transactional
+    @PostMapping("bookings/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    BatchBookingResponseDTO createBookings(@Valid @RequestBody BatchBookingRequestDTO bookingDTO,
+                                           @PathVariable Long hotelId) {
+        if (bookingDTO.checkOut().before(bookingDTO.checkIn()))
+            throw new CheckOutBeforeCheckInException(1333);
+        if (bookingDTO.checkIn().before(new Date(System.currentTimeMillis())))
+            throw new CheckInInPastException(1334);
+        Booking stay = new Booking();
+        GeneralUtils.map(bookingDTO, stay);
+        List<Long> bookingIds = bookingService.createBookings(stay, hotelId, bookingDTO.roomIds())
+                .stream().map(Booking::getId).toList();
+        return new BatchBookingResponseDTO(bookingIds, "Rooms Booked successfully");
+    }
+
     @Operation(summary = "Update details of a booking")
     @Transactional
     @PutMapping("rooms/{roomId}/bookings/{bookingId}")
@@ -129,4 +157,12 @@ public class BookingController {
         bookingService.deleteBooking(bookingId);
         return new EntityCreatedResponseDTO(bookingId, "Booking cancelled successfully");
     }
+
+    private static User currentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private static boolean isGuest(User user) {
+        return user.getAuthority().equals(Authority.USER);
+    }
 }
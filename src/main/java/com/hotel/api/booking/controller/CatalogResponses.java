@@ -0,0 +1,85 @@
+package com.hotel.api.booking.controller;
+
+import com.hotel.api.booking.service.CatalogResponseCache;
+import com.hotel.api.booking.service.CatalogVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The HTTP side of the catalog reads: strong ETags built from the {@link CatalogVersions} stamps, 304s for tags that
+ * are still current, and bodies served from the {@link CatalogResponseCache}, gzipped for clients that accept it.
+ */
+@RequiredArgsConstructor
+@Component
+class CatalogResponses {
+
+    // Clients keep the body but revalidate before every reuse; without it the security headers forbid storing it.
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final CatalogVersions catalogVersions;
+    private final CatalogResponseCache responseCache;
+
+    boolean isHotelListUnchanged(ServletWebRequest request) {
+        return isUnchanged("list-" + catalogVersions.hotelListVersion(), request);
+    }
+
+    boolean isHotelUnchanged(Long hotelId, String representation, ServletWebRequest request) {
+        return isUnchanged(catalogVersions.hotelVersion(hotelId) + "-" + representation, request);
+    }
+
+    /**
+     * Answers a read of {@code resource} within a hotel: 304 when the client's tag is current, the cached bytes
+     * when present, and otherwise renders, caches and sends the body.
+     */
+    ResponseEntity<byte[]> read(Long hotelId, String resource, MediaType contentType,
+                                CatalogResponseCache.Renderer renderer, HttpServletRequest request) throws IOException {
+        boolean sendGzip = responseCache.isGzipEnabled() && acceptsGzip(request);
+        long version = catalogVersions.hotelVersion(hotelId);
+        String etag = "\"" + version + "-" + contentType.getSubtype() + (sendGzip ? "-gzip" : "") + "\"";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(REVALIDATE);
+        if (responseCache.isGzipEnabled())
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (new ServletWebRequest(request).checkNotModified(etag))
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+
+        CatalogResponseCache.Body body = responseCache.get(hotelId, version, resource, renderer);
+        byte[] bytes = body.plain();
+        if (sendGzip && body.gzipped() != null) {
+            bytes = body.gzipped();
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        headers.setContentType(contentType);
+        headers.setContentLength(bytes.length);
+        return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+    }
+
+    private static boolean isUnchanged(String version, ServletWebRequest request) {
+        if (request.getResponse() != null)
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        return request.checkNotModified("\"" + version + "\"");
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null)
+            return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip"))
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+}
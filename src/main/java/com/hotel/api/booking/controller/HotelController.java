@@ -1,28 +1,39 @@
 package com.hotel.api.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotel.api.booking.dto.request.HotelCreateRequestDTO;
 import com.hotel.api.booking.dto.request.HotelUpdateRequestDTO;
 import com.hotel.api.booking.dto.request.UserDTO;
+import com.hotel.api.booking.dto.response.CursorPageResponseDTO;
 import com.hotel.api.booking.dto.response.EntityCreatedResponseDTO;
+import com.hotel.api.booking.dto.response.HotelDeletionResponseDTO;
 import com.hotel.api.booking.dto.response.HotelResponseDTO;
+import com.hotel.api.booking.dto.response.NearbyHotelResponseDTO;
 import com.hotel.api.booking.exception.HotelAlreadyExistException;
 import com.hotel.api.booking.exception.HotelNotFoundException;
+import com.hotel.api.booking.exception.InvalidGeoQueryException;
 import com.hotel.api.booking.model.Hotel;
 import com.hotel.api.booking.model.User;
 import com.hotel.api.booking.service.HotelService;
+import com.hotel.api.booking.util.CursorUtils;
 import com.hotel.api.booking.util.GeneralUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.List;
 
 @Tag(name = "Hotels API", description = "API endpoints for managing hotels")
 @SecurityRequirement(name = "bearerAuth")
@@ -31,28 +42,60 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/hotels")
 public class HotelController {
 
-    private final HotelService hotelService;
+    private static final int MAX_GEO_RESULTS = 100;
 
+    private final HotelService hotelService;
+    private final CatalogResponses catalogResponses;
+    private final ObjectMapper mapper;
 
-    @Operation(summary = "List all hotels in the database")
+    @Operation(summary = "List hotels in the database, one page after the given cursor")
     @GetMapping("/")
-    public Page<Hotel> listAllHotels(@RequestParam(required = false) Integer page,
-                                     @RequestParam(required = false) Integer size) {
-        page = (page == null) ? 0 : page;
-        size = (size == null) ? 10 : size;
-        PageRequest pageRequestData = PageRequest.of(page, size);
-        return hotelService.getAllHotels(pageRequestData);
+    public CursorPageResponseDTO<HotelResponseDTO> listAllHotels(@RequestParam(required = false) String after,
+                                                                 @RequestParam(required = false) Integer size,
+                                                                 ServletWebRequest webRequest) {
+        if (catalogResponses.isHotelListUnchanged(webRequest))
+            return null;
+        return hotelService.getAllHotels(CursorUtils.decode(after, 1009), CursorUtils.pageSize(size, 1010));
+    }
+
+    @Operation(summary = "List hotels closest to a point, nearest first")
+    @GetMapping("/nearby")
+    public List<NearbyHotelResponseDTO> listNearbyHotels(@RequestParam double latitude,
+                                                         @RequestParam double longitude,
+                                                         @RequestParam(required = false) Double radiusKm,
+                                                         @RequestParam(required = false) Integer limit) {
+        limit = (limit == null) ? 10 : limit;
+        if (!isLatitude(latitude) || !isLongitude(longitude) || limit < 1 || limit > MAX_GEO_RESULTS)
+            throw new InvalidGeoQueryException(1006);
+        if (radiusKm != null && !(radiusKm >= 0))
+            throw new InvalidGeoQueryException(1007);
+        return hotelService.getNearestHotels(latitude, longitude, limit,
+                (radiusKm == null) ? Double.MAX_VALUE : radiusKm);
+    }
+
+    @Operation(summary = "List hotels inside a bounding box")
+    @GetMapping("/within")
+    public List<HotelResponseDTO> listHotelsWithin(@RequestParam double minLatitude,
+                                                   @RequestParam double maxLatitude,
+                                                   @RequestParam double minLongitude,
+                                                   @RequestParam double maxLongitude,
+                                                   @RequestParam(required = false) Integer limit) {
+        limit = (limit == null) ? MAX_GEO_RESULTS : limit;
+        if (!isLatitude(minLatitude) || !isLatitude(maxLatitude) || minLatitude > maxLatitude
+                || !isLongitude(minLongitude) || !isLongitude(maxLongitude) || limit < 1 || limit > MAX_GEO_RESULTS)
+            throw new InvalidGeoQueryException(1008);
+        return hotelService.getHotelsWithin(minLatitude, maxLatitude, minLongitude, maxLongitude, limit);
     }
 
     @Operation(summary = "Get details of a specific hotel")
     @GetMapping("/{id}")
-    public HotelResponseDTO getHotelDetails(@PathVariable Long id) {
-        Hotel hotel = hotelService.getHotel(id).orElseThrow(() -> new HotelNotFoundException(1001));
-        return new HotelResponseDTO(hotel.getId(), hotel.getName(), hotel.getRoomCount(), hotel.getLocation());
+    public ResponseEntity<byte[]> getHotelDetails(@PathVariable Long id,
+                                                  HttpServletRequest request) throws IOException {
+        return catalogResponses.read(id, "hotel", MediaType.APPLICATION_JSON, out -> mapper.writeValue(out,
+                hotelService.getHotel(id).orElseThrow(() -> new HotelNotFoundException(1001))), request);
     }
 
     @Operation(summary = "Create new hotel")
-    @Transactional
     @PreAuthorize("hasAuthority('ADMIN')")
     @PostMapping("/")
     @ResponseStatus(HttpStatus.CREATED)
@@ -63,7 +106,7 @@ public class HotelController {
             Hotel hotel = new Hotel();
             GeneralUtils.map(userDTO, staff);
             GeneralUtils.map(hotelCreate, hotel, false);
-            hotelService.createHotel(hotel, staff);
+            hotelService.createHotel(hotel, hotelService.newStaff(staff));
             return new EntityCreatedResponseDTO(hotel.getId(), "Hotel created successfully");
         } catch (DataIntegrityViolationException exception) {
             throw new HotelAlreadyExistException(1002);
@@ -82,13 +125,27 @@ public class HotelController {
         return new EntityCreatedResponseDTO(id, "Hotel updated successfully");
     }
 
-    @Operation(summary = "Delete a hotel")
+    @Operation(summary = "Delete a hotel, its rooms and bookings are purged in the background")
     @Transactional
     @PreAuthorize("hasAuthority('ADMIN')")
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public EntityCreatedResponseDTO deleteHotel(@PathVariable Long id) {
-        hotelService.deleteHotel(id);
-        return new EntityCreatedResponseDTO(id, "Hotel deleted successfully");
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public HotelDeletionResponseDTO deleteHotel(@PathVariable Long id) {
+        return hotelService.deleteHotel(id);
+    }
+
+    @Operation(summary = "Get the progress of a hotel deletion")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/{id}/deletion")
+    public HotelDeletionResponseDTO getHotelDeletion(@PathVariable Long id) {
+        return hotelService.getHotelDeletion(id).orElseThrow(() -> new HotelNotFoundException(1011));
+    }
+
+    private static boolean isLatitude(double latitude) {
+        return latitude >= -90 && latitude <= 90;
+    }
+
+    private static boolean isLongitude(double longitude) {
+        return longitude >= -180 && longitude <= 180;
     }
 }
@@ -3,23 +3,36 @@ package com.hotel.api.booking.controller;
 import com.hotel.api.booking.dto.request.AvailabilityCheckRequestDTO;
 import com.hotel.api.booking.dto.request.RoomInfoDTO;
 import com.hotel.api.booking.dto.response.EntityCreatedResponseDTO;
+import com.hotel.api.booking.dto.response.RoomImportResponseDTO;
 import com.hotel.api.booking.dto.response.RoomResponseDTO;
 import com.hotel.api.booking.exception.CheckInInPastException;
 import com.hotel.api.booking.exception.CheckOutBeforeCheckInException;
 import com.hotel.api.booking.exception.RoomNotFoundException;
 import com.hotel.api.booking.model.Room;
 import com.hotel.api.booking.service.RoomService;
+import com.hotel.api.booking.util.CursorUtils;
 import com.hotel.api.booking.util.GeneralUtils;
+import com.hotel.api.booking.util.JsonStreamWriter;
+import com.hotel.api.booking.util.RoomImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 
@@ -32,15 +45,32 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final CatalogResponses catalogResponses;
+    private final JsonStreamWriter streamWriter;
+    private final ObjectMapper mapper;
+    private final Validator validator;
 
-    @Operation(summary = "List all rooms in a specific hotel")
+    @Operation(summary = "List rooms in a specific hotel, one page at a time")
     @GetMapping("/")
-    public List<RoomResponseDTO> listRoom(@PathVariable Long hotelId) {
-        return roomService.getAllRoomsInHotel(hotelId)
-                .stream().map(room ->
-                        new RoomResponseDTO(room.getId(), room.getRoomNumber(),
-                                room.getType(), room.getPrice(), room.getStatus()))
-                .toList();
+    public ResponseEntity<byte[]> listRoom(@PathVariable Long hotelId,
+                                           @RequestParam(required = false) String after,
+                                           @RequestParam(required = false) Integer size,
+                                           HttpServletRequest request) throws IOException {
+        Long afterId = CursorUtils.decode(after, 1116);
+        int pageSize = CursorUtils.pageSize(size, 1117);
+        return catalogResponses.read(hotelId, "rooms?after=" + afterId + "&size=" + pageSize,
+                MediaType.APPLICATION_JSON,
+                out -> mapper.writeValue(out, roomService.getRoomsInHotel(hotelId, afterId, pageSize)), request);
+    }
+
+    @Operation(summary = "Stream every room in a specific hotel as a JSON array, or as NDJSON when asked for")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamRooms(@PathVariable Long hotelId,
+                                                             ServletWebRequest webRequest) {
+        String representation = JsonStreamWriter.acceptsNdjson(webRequest.getRequest()) ? "ndjson" : "json";
+        if (catalogResponses.isHotelUnchanged(hotelId, representation, webRequest))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        return streamWriter.stream(() -> roomService.getAllRoomsInHotel(hotelId), webRequest.getRequest());
     }
 
     @Operation(summary = "List all available rooms in a specified date range")
@@ -50,19 +80,17 @@ public class RoomController {
             throw new CheckOutBeforeCheckInException(1101);
         if (checkDTO.checkIn().before(new Date(System.currentTimeMillis())))
             throw new CheckInInPastException(1102);
-        return roomService.getAvailableRooms(hotelId, checkDTO.checkIn(), checkDTO.checkOut())
-                .stream()
-                .map(room -> new RoomResponseDTO(room.getId(), room.getRoomNumber(), room.getType(), room.getPrice(), room.getStatus()))
-                .toList();
+        return roomService.getAvailableRooms(hotelId, checkDTO.checkIn(), checkDTO.checkOut());
     }
 
     @Operation(summary = "Get information about a specific Room")
     @GetMapping("/{roomId}")
-    public RoomResponseDTO getRoomDetails(@PathVariable Long hotelId,
-                                          @PathVariable Long roomId) {
-        Room room = roomService.getRoomDetails(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1103));
-        return new RoomResponseDTO(room.getId(), room.getRoomNumber(),
-                room.getType(), room.getPrice(), room.getStatus());
+    public ResponseEntity<byte[]> getRoomDetails(@PathVariable Long hotelId,
+                                                 @PathVariable Long roomId,
+                                                 HttpServletRequest request) throws IOException {
+        return catalogResponses.read(hotelId, "room/" + roomId, MediaType.APPLICATION_JSON,
+                out -> mapper.writeValue(out, roomService.getRoomDetails(hotelId, roomId)
+                        .orElseThrow(() -> new RoomNotFoundException(1103))), request);
     }
 
     @Operation(summary = "Create a new Room inside a specific hotel")
@@ -78,6 +106,19 @@ public class RoomController {
         return new EntityCreatedResponseDTO(room.getId(), "Room created successfully");
     }
 
+    @Operation(summary = "Import rooms into a hotel from CSV or NDJSON, reporting the rows that were rejected")
+    @Transactional
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('HOTEL')")
+    @PostMapping(value = "/import", consumes = {RoomImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public RoomImportResponseDTO importRooms(@PathVariable Long hotelId,
+                                             HttpServletRequest request) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(RoomImportReader.TEXT_CSV_VALUE));
+        return roomService.importRooms(hotelId,
+                new RoomImportReader(request.getInputStream(), csv, mapper, validator));
+    }
+
     @Operation(summary = "Update details about a specific room")
     @Transactional
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('HOTEL')")
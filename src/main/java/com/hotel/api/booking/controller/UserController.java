@@ -3,22 +3,23 @@ package com.hotel.api.booking.controller;
 import com.hotel.api.booking.dto.request.AuthenticationRequestDTO;
 import com.hotel.api.booking.dto.request.UserDTO;
 import com.hotel.api.booking.dto.response.AuthenticationResponseDTO;
+import com.hotel.api.booking.dto.response.EntityCreatedResponseDTO;
 import com.hotel.api.booking.exception.UserAlreadyExistException;
 import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.User;
 import com.hotel.api.booking.service.AuthenticationService;
+import com.hotel.api.booking.service.TokenRevocationService;
 import com.hotel.api.booking.util.GeneralUtils;
 import com.hotel.api.booking.util.JwtUtil;
 import com.hotel.api.booking.util.Logger;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
 
 
 @Tag(name = "Authentication API", description = "API endpoints for authentication")
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final AuthenticationService authService;
+    private final TokenRevocationService revocationService;
     private final Logger logger = new Logger(this);
 
     @Operation(summary = "Authenticate a user")
@@ -44,7 +46,7 @@ public class UserController {
         try {
             User user = new User();
             GeneralUtils.map(requestDTO, user);
-            authService.signup(user.getName(), user.getEmail(),
+            user = authService.signup(user.getName(), user.getEmail(),
                     user.getPassword(), Authority.USER);
             String token = JwtUtil.generateToken(user);
             return new AuthenticationResponseDTO(token);
@@ -53,4 +55,13 @@ public class UserController {
             throw new UserAlreadyExistException(1200);
         }
     }
+
+    @Operation(summary = "Revoke every token issued to a user so far")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/{id}/revoke-tokens")
+    public EntityCreatedResponseDTO revokeTokens(@PathVariable Long id) {
+        revocationService.revoke(id);
+        return new EntityCreatedResponseDTO(id, "User tokens revoked successfully");
+    }
 }
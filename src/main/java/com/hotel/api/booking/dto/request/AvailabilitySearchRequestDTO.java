@@ -0,0 +1,20 @@
+package com.hotel.api.booking.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.sql.Date;
+import java.util.List;
+
+public record AvailabilitySearchRequestDTO(
+        List<Long> hotelIds,
+        Double minLatitude,
+        Double maxLatitude,
+        Double minLongitude,
+        Double maxLongitude,
+        @NotNull Date checkIn,
+        @NotNull Date checkOut) {
+
+    public boolean hasBoundingBox() {
+        return minLatitude != null && maxLatitude != null && minLongitude != null && maxLongitude != null;
+    }
+}
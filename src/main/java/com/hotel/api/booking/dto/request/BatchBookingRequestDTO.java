@@ -0,0 +1,20 @@
+package com.hotel.api.booking.dto.request;
+
+import com.hotel.api.booking.model.ContactInfo;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.sql.Date;
+import java.util.List;
+
+public record BatchBookingRequestDTO(
+        @NotEmpty @Size(max = 100, message = "At most 100 rooms can be booked at once") List<@NotNull Long> roomIds,
+        @NotNull @NotBlank String guestName,
+        @NotNull @Valid ContactInfo contactInfo,
+        @NotNull Date checkIn,
+        @NotNull Date checkOut
+) {
+}
@@ -0,0 +1,6 @@
+package com.hotel.api.booking.dto.response;
+
+import java.util.List;
+
+public record BatchBookingResponseDTO(List<Long> ids, String message) {
+}
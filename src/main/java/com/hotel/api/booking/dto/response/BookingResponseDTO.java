@@ -14,4 +14,9 @@ public record BookingResponseDTO(
         @NotNull @Valid ContactInfo contactInfo,
         @NotNull Date checkIn,
         @NotNull Date checkOut) {
+
+    public BookingResponseDTO(Long id, Long roomId, String guestName, String address, Long phone,
+                              Date checkIn, Date checkOut) {
+        this(id, roomId, guestName, new ContactInfo(address, phone), checkIn, checkOut);
+    }
 }
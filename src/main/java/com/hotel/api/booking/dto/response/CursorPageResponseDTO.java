@@ -0,0 +1,17 @@
+package com.hotel.api.booking.dto.response;
+
+import com.hotel.api.booking.util.CursorUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponseDTO<T>(List<T> content, String next) {
+
+    // Expects up to size + 1 rows; the extra row only signals that another page exists.
+    public static <T> CursorPageResponseDTO<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size)
+            return new CursorPageResponseDTO<>(rows, null);
+        List<T> content = rows.subList(0, size);
+        return new CursorPageResponseDTO<>(content, CursorUtils.encode(idOf.apply(content.get(size - 1))));
+    }
+}
@@ -0,0 +1,6 @@
+package com.hotel.api.booking.dto.response;
+
+import java.util.List;
+
+public record HotelAvailabilityResponseDTO(Long hotelId, List<RoomResponseDTO> rooms) {
+}
@@ -0,0 +1,19 @@
+package com.hotel.api.booking.dto.response;
+
+import com.hotel.api.booking.model.HotelDeletionJob;
+
+import java.time.Instant;
+
+public record HotelDeletionResponseDTO(
+        Long hotelId,
+        boolean completed,
+        long bookingsDeleted,
+        long roomsDeleted,
+        Instant requestedAt,
+        Instant completedAt) {
+
+    public static HotelDeletionResponseDTO of(HotelDeletionJob job) {
+        return new HotelDeletionResponseDTO(job.getHotelId(), job.getCompletedAt() != null,
+                job.getBookingsDeleted(), job.getRoomsDeleted(), job.getRequestedAt(), job.getCompletedAt());
+    }
+}
@@ -10,4 +10,15 @@ public record HotelResponseDTO(
         @NotNull @NotBlank String name,
         @NotNull int roomCount,
         @NotNull @Valid GeoLocation location) {
+
+    public HotelResponseDTO(Long id, String name, int roomCount, double latitude, double longitude) {
+        this(id, name, roomCount, location(latitude, longitude));
+    }
+
+    private static GeoLocation location(double latitude, double longitude) {
+        GeoLocation location = new GeoLocation();
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
 }
@@ -0,0 +1,4 @@
+package com.hotel.api.booking.dto.response;
+
+public record NearbyHotelResponseDTO(HotelResponseDTO hotel, double distanceKm) {
+}
@@ -0,0 +1,10 @@
+package com.hotel.api.booking.dto.response;
+
+public record OwnershipCacheStatsResponseDTO(
+        long hotelHits,
+        long hotelMisses,
+        long hotelEntries,
+        long bookingHits,
+        long bookingMisses,
+        long bookingEntries) {
+}
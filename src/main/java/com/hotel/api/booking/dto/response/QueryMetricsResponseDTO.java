@@ -0,0 +1,10 @@
+package com.hotel.api.booking.dto.response;
+
+public record QueryMetricsResponseDTO(
+        String endpoint,
+        long requests,
+        long statements,
+        long maxStatements,
+        long rows,
+        double statementMillis) {
+}
@@ -0,0 +1,6 @@
+package com.hotel.api.booking.dto.response;
+
+import java.util.List;
+
+public record RoomImportResponseDTO(int imported, int rejected, List<RoomImportErrorDTO> errors) {
+}
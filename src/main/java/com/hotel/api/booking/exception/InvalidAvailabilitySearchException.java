@@ -0,0 +1,7 @@
+package com.hotel.api.booking.exception;
+
+public class InvalidAvailabilitySearchException extends ApplicationException {
+    public InvalidAvailabilitySearchException(int code) {
+        super(code);
+    }
+}
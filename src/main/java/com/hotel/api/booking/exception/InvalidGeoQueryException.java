@@ -0,0 +1,7 @@
+package com.hotel.api.booking.exception;
+
+public class InvalidGeoQueryException extends ApplicationException {
+    public InvalidGeoQueryException(int code) {
+        super(code);
+    }
+}
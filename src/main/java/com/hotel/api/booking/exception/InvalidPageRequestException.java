@@ -0,0 +1,7 @@
+package com.hotel.api.booking.exception;
+
+public class InvalidPageRequestException extends ApplicationException {
+    public InvalidPageRequestException(int code) {
+        super(code);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hotel.api.booking.exception;
+
+public class InvalidRoomImportException extends ApplicationException {
+    public InvalidRoomImportException(int code) {
+        super(code);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hotel.api.booking.exception;
+
+public class TooManyRequestsException extends ApplicationException {
+    public TooManyRequestsException(int code) {
+        super(code);
+    }
+}
@@ -3,6 +3,8 @@ package com.hotel.api.booking.exception.handler;
 import com.hotel.api.booking.dto.response.ErrorResponseDTO;
 import com.hotel.api.booking.exception.*;
 import com.hotel.api.booking.util.Logger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -85,10 +87,46 @@ public class ApplicationExceptionHandler {
         return new ErrorResponseDTO(exception.getCode(), "Check-out date should be after check-in date");
     }
 
+    @ExceptionHandler(InvalidAvailabilitySearchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidAvailabilitySearch(InvalidAvailabilitySearchException exception) {
+        logger.logException(exception);
+        return new ErrorResponseDTO(exception.getCode(), "Search needs hotel ids or a complete bounding box within the hotel limit");
+    }
+
+    @ExceptionHandler(InvalidGeoQueryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidGeoQuery(InvalidGeoQueryException exception) {
+        logger.logException(exception);
+        return new ErrorResponseDTO(exception.getCode(), "Coordinates, radius or limit out of range");
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidPageRequest(InvalidPageRequestException exception) {
+        logger.logException(exception);
+        return new ErrorResponseDTO(exception.getCode(), "Invalid page cursor or page size");
+    }
+
+    @ExceptionHandler(InvalidRoomImportException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDTO handleInvalidRoomImport(InvalidRoomImportException exception) {
+        logger.logException(exception);
+        return new ErrorResponseDTO(exception.getCode(), "CSV import needs a header with roomNumber, type, price and status");
+    }
+
     @ExceptionHandler(CheckInInPastException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponseDTO handleCheckInInPast(CheckInInPastException exception) {
         logger.logException(exception);
         return new ErrorResponseDTO(exception.getCode(), "Check in date should be after " + new Date(System.currentTimeMillis()));
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorResponseDTO handleTooManyRequests(TooManyRequestsException exception, HttpServletResponse response) {
+        logger.logException(exception);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return new ErrorResponseDTO(exception.getCode(), "Server is busy, please retry shortly");
+    }
 }
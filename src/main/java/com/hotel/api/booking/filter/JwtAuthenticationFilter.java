@@ -1,7 +1,8 @@
 package com.hotel.api.booking.filter;
 
-import com.hotel.api.booking.config.SecurityConfig;
 import com.hotel.api.booking.exception.UnauthorizedUserException;
+import com.hotel.api.booking.model.User;
+import com.hotel.api.booking.service.TokenRevocationService;
 import com.hotel.api.booking.util.JwtUtil;
 import com.hotel.api.booking.util.Logger;
 import jakarta.servlet.FilterChain;
@@ -13,25 +14,32 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
 
 @Configuration
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
+    private final RouteClassifier routeClassifier;
     private final HandlerExceptionResolver exceptionResolver;
+    private final SecurityFilterMetrics filterMetrics;
 
     public JwtAuthenticationFilter(UserDetailsService userDetailsService,
+                                   TokenRevocationService revocationService,
+                                   RouteClassifier routeClassifier,
+                                   SecurityFilterMetrics filterMetrics,
                                    @Qualifier("handlerExceptionResolver")
                                    HandlerExceptionResolver exceptionResolver) {
         this.userDetailsService = userDetailsService;
+        this.revocationService = revocationService;
+        this.routeClassifier = routeClassifier;
         this.exceptionResolver = exceptionResolver;
+        this.filterMetrics = filterMetrics;
     }
 
     @Override
@@ -39,16 +47,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SecurityFilterMetrics.TimedChain timedChain = filterMetrics.authentication(filterChain);
+        try {
+            authenticate(request, response, timedChain);
+        } finally {
+            timedChain.stop();
+        }
+    }
 
+    private void authenticate(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
         Logger logger = new Logger(this);
         String authHeader = request.getHeader("Authorization");
-        String pathSegment = request.getRequestURI();
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            for (Pattern pattern : SecurityConfig.publicEndPoints) {
-                if (pattern.matcher(pathSegment).find()) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
+            if (routeClassifier.classify(request).isPublic()) {
+                filterChain.doFilter(request, response);
+                return;
             }
             exceptionResolver.resolveException(request, response, null,
                     new UnauthorizedUserException(1400));
@@ -56,12 +70,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         String token = authHeader.replace("Bearer ", "");
 
+        long verificationStart = System.nanoTime();
         try {
             JwtUtil jwtService = new JwtUtil(token);
             String username = jwtService.extractUsername();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(userDetails)) {
+                User userDetails = jwtService.extractPrincipal()
+                        .orElseGet(() -> (User) userDetailsService.loadUserByUsername(username));
+                if (revocationService.isRevoked(userDetails.getId(), jwtService.extractIssuedAt()))
+                    throw new UnauthorizedUserException(1401);
+                boolean isTokenValid = jwtService.isTokenValid(userDetails);
+                filterMetrics.tokenVerified(verificationStart, isTokenValid);
+                if (isTokenValid) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -74,6 +94,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception exception) {
+            filterMetrics.tokenVerified(verificationStart, false);
             logger.logException(exception);
             exceptionResolver.resolveException(request, response, null, exception);
             return;
@@ -0,0 +1,104 @@
+package com.hotel.api.booking.filter;
+
+import com.hotel.api.booking.service.QueryMetrics;
+import com.hotel.api.booking.util.QueryStatistics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Records the SQL issued while serving a request, security filters included, and adds it to {@link QueryMetrics}
+ * under the matched endpoint pattern. With {@code booking.query-metrics.response-header} on, the counts are also
+ * sent as headers; they are taken when the body is opened, so statements run while serializing only reach the
+ * metrics. Streamed listings are recorded once the async request completes, with the statements of the streaming
+ * thread included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Query-Count";
+    public static final String ROWS_HEADER = "X-Query-Rows";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final QueryMetrics queryMetrics;
+    private final boolean responseHeader;
+
+    public QueryMetricsFilter(QueryMetrics queryMetrics,
+                              @Value("${booking.query-metrics.response-header:false}") boolean responseHeader) {
+        this.queryMetrics = queryMetrics;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (QueryStatistics.Recording recording = QueryStatistics.start()) {
+            QueryHeaderResponse headerResponse = responseHeader ? new QueryHeaderResponse(response, recording) : null;
+            try {
+                filterChain.doFilter(request, headerResponse == null ? response : headerResponse);
+            } finally {
+                if (headerResponse != null)
+                    headerResponse.writeHeaders();
+                AsyncCompletion.whenComplete(request, () -> record(request, recording));
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStatistics.Recording recording) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern)
+            queryMetrics.record(request.getMethod() + " " + pattern, recording);
+    }
+
+    private static final class QueryHeaderResponse extends HttpServletResponseWrapper {
+        private final QueryStatistics.Recording recording;
+        private boolean written;
+
+        private QueryHeaderResponse(HttpServletResponse response, QueryStatistics.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted())
+                return;
+            written = true;
+            setHeader(STATEMENTS_HEADER, Long.toString(recording.getStatements()));
+            setHeader(ROWS_HEADER, Long.toString(recording.getRows()));
+            setHeader(TIME_HEADER, String.format("%.3f", recording.getElapsedNanos() / 1_000_000.0));
+        }
+    }
+}
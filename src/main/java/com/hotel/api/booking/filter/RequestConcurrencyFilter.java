@@ -0,0 +1,77 @@
+package com.hotel.api.booking.filter;
+
+import com.hotel.api.booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes over the job the Tomcat worker pool did before virtual threads: capping how many requests run at once, so
+ * thousands of parked requests do not all queue on the connection pool and time out there. Requests over
+ * {@code booking.virtual-threads.max-concurrent-requests} wait up to {@code queue-timeout-ms} for a slot and are
+ * then turned away with a 429. A streamed listing keeps its slot until the last byte is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "booking.virtual-threads.enabled", havingValue = "true")
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public RequestConcurrencyFilter(
+            MeterRegistry registry,
+            @Value("${booking.virtual-threads.max-concurrent-requests:400}") int maxConcurrentRequests,
+            @Value("${booking.virtual-threads.queue-timeout-ms:5000}") long queueTimeoutMs,
+            @Qualifier("handlerExceptionResolver")
+            HandlerExceptionResolver exceptionResolver) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.exceptionResolver = exceptionResolver;
+        Gauge.builder("booking.requests.queued", permits, Semaphore::getQueueLength)
+                .register(registry);
+        Gauge.builder("booking.requests.active", permits,
+                        semaphore -> maxConcurrentRequests - semaphore.availablePermits())
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            exceptionResolver.resolveException(request, response, null, new TooManyRequestsException(1404));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AsyncCompletion.whenComplete(request, permits::release);
+        }
+    }
+}
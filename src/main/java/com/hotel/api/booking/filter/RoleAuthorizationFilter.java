@@ -1,12 +1,11 @@
 package com.hotel.api.booking.filter;
 
-import com.hotel.api.booking.config.SecurityConfig;
 import com.hotel.api.booking.exception.BookingNotFoundException;
 import com.hotel.api.booking.exception.HotelNotFoundException;
 import com.hotel.api.booking.exception.UnauthorizedUserException;
 import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.User;
-import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.service.OwnershipCache;
 import com.hotel.api.booking.util.Logger;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,28 +18,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Configuration
 public class RoleAuthorizationFilter extends OncePerRequestFilter {
 
-    private final Pattern hotelEndPoint = Pattern.compile("/api/v1/hotels/(\\d+)$");
-    private final Pattern roomEndpoint = Pattern.compile("/api/v1/hotels/(\\d+)/rooms/(\\d*)$");
-    private final Pattern bookingEndpoint = Pattern.compile("/api/v1/hotels/(\\d+)/rooms/(\\d+)/bookings/(\\d*)$");
-
-    private final UserRepository userRepository;
+    private final OwnershipCache ownershipCache;
+    private final RouteClassifier routeClassifier;
+    private final SecurityFilterMetrics filterMetrics;
 
     private final HandlerExceptionResolver exceptionResolver;
     private final Logger logger = new Logger(this);
 
     public RoleAuthorizationFilter(
-            UserRepository userRepository,
+            OwnershipCache ownershipCache,
+            RouteClassifier routeClassifier,
+            SecurityFilterMetrics filterMetrics,
             @Qualifier("handlerExceptionResolver")
             HandlerExceptionResolver exceptionResolver) {
-        this.userRepository = userRepository;
+        this.ownershipCache = ownershipCache;
+        this.routeClassifier = routeClassifier;
+        this.filterMetrics = filterMetrics;
         this.exceptionResolver = exceptionResolver;
     }
 
@@ -50,33 +48,32 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain)
             throws IOException, ServletException {
-
-        String pathSegment = request.getRequestURI();
-        for (Pattern pattern : SecurityConfig.publicEndPoints) {
-            if (pattern.matcher(pathSegment).find()) {
-                filterChain.doFilter(request, response);
-                return;
-            }
+        SecurityFilterMetrics.TimedChain timedChain = filterMetrics.authorization(filterChain);
+        try {
+            authorize(request, response, timedChain);
+        } finally {
+            timedChain.stop();
         }
+    }
 
-        String httpMethod = request.getMethod();
-        Matcher hotelMatcher = hotelEndPoint.matcher(pathSegment);
-        Matcher roomMatcher = roomEndpoint.matcher(pathSegment);
-        Matcher bookingMatcher = bookingEndpoint.matcher(pathSegment);
-
-        if (bookingMatcher.find() && List.of("GET", "PUT", "DELETE").contains(httpMethod))
-            handleBookingAuthority(request, response, bookingMatcher, filterChain);
-        else if (roomMatcher.find() && List.of("POST", "PUT", "DELETE").contains(httpMethod))
-            handleRoomRequestAuthority(request, response, roomMatcher, filterChain);
-        else if (hotelMatcher.find() && List.of("PUT", "DELETE").contains(httpMethod))
-            handleHotelRequestAuthority(request, response, hotelMatcher, filterChain);
-        else
+    private void authorize(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws IOException, ServletException {
+        Route route = routeClassifier.classify(request);
+        if (!route.requiresOwnership(request.getMethod())) {
             filterChain.doFilter(request, response);
+            return;
+        }
+
+        switch (route.kind()) {
+            case BOOKING -> handleBookingAuthority(request, response, route, filterChain);
+            case ROOM -> handleRoomRequestAuthority(request, response, route, filterChain);
+            default -> handleHotelRequestAuthority(request, response, route, filterChain);
+        }
     }
 
-    private void handleHotelRequestAuthority(HttpServletRequest request, HttpServletResponse response, Matcher hotelMatcher, FilterChain filterChain) throws ServletException, IOException {
-        Long hotelId = Long.parseLong(hotelMatcher.group(1));
-        Optional<User> hotelStaff = userRepository.findUserByHotelId(hotelId);
+    private void handleHotelRequestAuthority(HttpServletRequest request, HttpServletResponse response, Route route, FilterChain filterChain) throws ServletException, IOException {
+        Long hotelId = route.hotelId();
+        Optional<String> hotelStaff = ownershipCache.getHotelStaffEmail(hotelId);
         if (hotelStaff.isEmpty()) {
             Exception exception = new HotelNotFoundException(1500);
             logger.logException(exception);
@@ -85,7 +82,7 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
         }
         User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (!currentUser.getAuthority().equals(Authority.ADMIN) &&
-                !currentUser.getEmail().equals(hotelStaff.get().getEmail())) {
+                !currentUser.getEmail().equals(hotelStaff.get())) {
             Exception exception = new UnauthorizedUserException(1501);
             logger.logException(exception);
             exceptionResolver.resolveException(request, response, null, exception);
@@ -94,9 +91,9 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void handleRoomRequestAuthority(HttpServletRequest request, HttpServletResponse response, Matcher roomMatcher, FilterChain filterChain) throws ServletException, IOException {
-        Long hotelId = Long.parseLong(roomMatcher.group(1));
-        Optional<User> hotelStaff = userRepository.findUserByHotelId(hotelId);
+    private void handleRoomRequestAuthority(HttpServletRequest request, HttpServletResponse response, Route route, FilterChain filterChain) throws ServletException, IOException {
+        Long hotelId = route.hotelId();
+        Optional<String> hotelStaff = ownershipCache.getHotelStaffEmail(hotelId);
         if (hotelStaff.isEmpty()) {
             Exception exception = new HotelNotFoundException(1502);
             logger.logException(exception);
@@ -105,7 +102,7 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
         }
         User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (!currentUser.getAuthority().equals(Authority.ADMIN) &&
-                !currentUser.getEmail().equals(hotelStaff.get().getEmail())) {
+                !currentUser.getEmail().equals(hotelStaff.get())) {
             Exception exception = new UnauthorizedUserException(1503);
             logger.logException(exception);
             exceptionResolver.resolveException(request, response, null, exception);
@@ -117,13 +114,12 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
     private void handleBookingAuthority(
             HttpServletRequest request,
             HttpServletResponse response,
-            Matcher bookingMatcher, FilterChain filterChain) throws ServletException, IOException {
+            Route route, FilterChain filterChain) throws ServletException, IOException {
 
-        String strBookingId = bookingMatcher.group(3);
         User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (strBookingId.isBlank()) {
-            Long hotelId = Long.parseLong(bookingMatcher.group(1));
-            Optional<User> hotelStaff = userRepository.findUserByHotelId(hotelId);
+        if (route.bookingId() == null) {
+            Long hotelId = route.hotelId();
+            Optional<String> hotelStaff = ownershipCache.getHotelStaffEmail(hotelId);
             if (hotelStaff.isEmpty()) {
                 Exception exception = new HotelNotFoundException(1504);
                 logger.logException(exception);
@@ -131,15 +127,14 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
                 return;
             }
             if (!currentUser.getAuthority().equals(Authority.ADMIN) &&
-                    !currentUser.getEmail().equals(hotelStaff.get().getEmail())) {
+                    !currentUser.getEmail().equals(hotelStaff.get())) {
                 Exception exception = new UnauthorizedUserException(1505);
                 logger.logException(exception);
                 exceptionResolver.resolveException(request, response, null, exception);
                 return;
             }
         } else {
-            Long bookingId = Long.valueOf(strBookingId);
-            Optional<User> bookingOwner = userRepository.findUserByBookingId(bookingId);
+            Optional<String> bookingOwner = ownershipCache.getBookingOwnerEmail(route.bookingId());
             if (bookingOwner.isEmpty()) {
                 Exception exception = new BookingNotFoundException(1506);
                 logger.logException(exception);
@@ -147,7 +142,7 @@ public class RoleAuthorizationFilter extends OncePerRequestFilter {
                 return;
             }
             if (!currentUser.getAuthority().equals(Authority.ADMIN) &&
-                    !currentUser.getEmail().equals(bookingOwner.get().getEmail())) {
+                    !currentUser.getEmail().equals(bookingOwner.get())) {
                 Exception exception = new UnauthorizedUserException(1507);
                 logger.logException(exception);
                 exceptionResolver.resolveException(request, response, null, exception);
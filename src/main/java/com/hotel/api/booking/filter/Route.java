@@ -0,0 +1,28 @@
+package com.hotel.api.booking.filter;
+
+/**
+ * What {@link RouteClassifier} made of a request path. Ids are filled in only for the route kinds that carry them;
+ * an empty trailing segment (e.g. {@code /rooms/}) leaves the last id null.
+ */
+public record Route(Kind kind, Long hotelId, Long roomId, Long bookingId) {
+
+    public static final Route PUBLIC = new Route(Kind.PUBLIC, null, null, null);
+    public static final Route OTHER = new Route(Kind.OTHER, null, null, null);
+
+    public enum Kind {
+        PUBLIC, HOTEL, ROOM, BOOKING, OTHER
+    }
+
+    public boolean isPublic() {
+        return kind == Kind.PUBLIC;
+    }
+
+    public boolean requiresOwnership(String httpMethod) {
+        return switch (kind) {
+            case HOTEL -> httpMethod.equals("PUT") || httpMethod.equals("DELETE");
+            case ROOM -> httpMethod.equals("POST") || httpMethod.equals("PUT") || httpMethod.equals("DELETE");
+            case BOOKING -> httpMethod.equals("GET") || httpMethod.equals("PUT") || httpMethod.equals("DELETE");
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.hotel.api.booking.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classifies a request path in one pass over its segments, walking a trie of the routes the security filters care
+ * about and collecting the numeric ids on the way. The result is kept as a request attribute so the second filter
+ * reuses it instead of matching the path again.
+ */
+@Component
+public class RouteClassifier {
+
+    public static final String ROUTE_ATTRIBUTE = RouteClassifier.class.getName() + ".route";
+
+    private static final int MAX_IDS = 3;
+
+    private final Node root = new Node();
+
+    public RouteClassifier() {
+        add("api/v1/users/login", Route.Kind.PUBLIC);
+        add("api/v1/users/sign-up", Route.Kind.PUBLIC);
+        add("swagger-ui/**", Route.Kind.PUBLIC);
+        add("v3/api-docs/**", Route.Kind.PUBLIC);
+        add("actuator/health", Route.Kind.PUBLIC);
+        add("actuator/prometheus", Route.Kind.PUBLIC);
+        add("api/v1/hotels/{id}", Route.Kind.HOTEL);
+        add("api/v1/hotels/{id}/rooms/{id?}", Route.Kind.ROOM);
+        add("api/v1/hotels/{id}/rooms/import", Route.Kind.ROOM);
+        add("api/v1/hotels/{id}/rooms/{id}/bookings/{id?}", Route.Kind.BOOKING);
+        add("api/v1/hotels/{id}/rooms/{id}/bookings/stream", Route.Kind.BOOKING);
+    }
+
+    public Route classify(HttpServletRequest request) {
+        if (request.getAttribute(ROUTE_ATTRIBUTE) instanceof Route route)
+            return route;
+        Route route = classify(request.getRequestURI());
+        request.setAttribute(ROUTE_ATTRIBUTE, route);
+        return route;
+    }
+
+    Route classify(String path) {
+        Long[] ids = new Long[MAX_IDS];
+        int idCount = 0;
+        Node node = root;
+        int start = path.startsWith("/") ? 1 : 0;
+        while (!node.anyRest) {
+            int end = path.indexOf('/', start);
+            boolean last = end == -1;
+            if (last)
+                end = path.length();
+            Node next = node.literal(path, start, end);
+            if (next == null && node.id != null && idCount < MAX_IDS) {
+                if (start < end) {
+                    long id = parseId(path, start, end);
+                    if (id < 0)
+                        return Route.OTHER;
+                    ids[idCount++] = id;
+                    next = node.id;
+                } else if (last && node.id.optional) {
+                    idCount++;
+                    next = node.id;
+                }
+            }
+            if (next == null)
+                return Route.OTHER;
+            node = next;
+            if (last)
+                break;
+            start = end + 1;
+        }
+        if (node.kind == null)
+            return Route.OTHER;
+        if (node.kind == Route.Kind.PUBLIC)
+            return Route.PUBLIC;
+        return new Route(node.kind, ids[0], ids[1], ids[2]);
+    }
+
+    // Digits only, no sign; -1 for anything else including values that overflow a long.
+    private static long parseId(String path, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char digit = path.charAt(i);
+            if (digit < '0' || digit > '9')
+                return -1;
+            if (value > (Long.MAX_VALUE - (digit - '0')) / 10)
+                return -1;
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
+    private void add(String pattern, Route.Kind kind) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            switch (segment) {
+                case "**" -> node.anyRest = true;
+                case "{id}", "{id?}" -> {
+                    if (node.id == null)
+                        node.id = new Node();
+                    node.id.optional |= segment.equals("{id?}");
+                    node = node.id;
+                }
+                default -> node = node.literals.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.kind = kind;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new LinkedHashMap<>();
+        private Node id;
+        private boolean optional;
+        private boolean anyRest;
+        private Route.Kind kind;
+
+        private Node literal(String path, int start, int end) {
+            for (Map.Entry<String, Node> entry : literals.entrySet()) {
+                String literal = entry.getKey();
+                if (literal.length() == end - start && path.startsWith(literal, start))
+                    return entry.getValue();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hotel.api.booking.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the two security filters and for JWT verification. The filter timers only cover the filter's own work:
+ * the clock stops when the rest of the chain is invoked, or when the filter returns after rejecting the request.
+ * All meters are registered up front so the request path never looks them up.
+ */
+@Component
+public class SecurityFilterMetrics {
+
+    private final Timer authentication;
+    private final Timer authorization;
+    private final Timer validToken;
+    private final Timer rejectedToken;
+
+    public SecurityFilterMetrics(MeterRegistry registry) {
+        this.authentication = filterTimer(registry, "authentication");
+        this.authorization = filterTimer(registry, "authorization");
+        this.validToken = verificationTimer(registry, "valid");
+        this.rejectedToken = verificationTimer(registry, "rejected");
+    }
+
+    public TimedChain authentication(FilterChain chain) {
+        return new TimedChain(authentication, chain);
+    }
+
+    public TimedChain authorization(FilterChain chain) {
+        return new TimedChain(authorization, chain);
+    }
+
+    public void tokenVerified(long startNanos, boolean valid) {
+        (valid ? validToken : rejectedToken).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer filterTimer(MeterRegistry registry, String filter) {
+        return Timer.builder("booking.security.filter")
+                .tag("filter", filter)
+                .register(registry);
+    }
+
+    private static Timer verificationTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("booking.jwt.verification")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public static final class TimedChain implements FilterChain {
+        private final Timer timer;
+        private final FilterChain chain;
+        private final long startNanos = System.nanoTime();
+        private boolean stopped;
+
+        private TimedChain(Timer timer, FilterChain chain) {
+            this.timer = timer;
+            this.chain = chain;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            stop();
+            chain.doFilter(request, response);
+        }
+
+        public void stop() {
+            if (stopped)
+                return;
+            stopped = true;
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
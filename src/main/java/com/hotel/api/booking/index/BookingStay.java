@@ -0,0 +1,6 @@
+package com.hotel.api.booking.index;
+
+import java.sql.Date;
+
+public record BookingStay(Long id, Long roomId, Date checkIn, Date checkOut) {
+}
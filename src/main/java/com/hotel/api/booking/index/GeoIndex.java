@@ -0,0 +1,250 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.NearbyHotelResponseDTO;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.repository.HotelRepository;
+import com.hotel.api.booking.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Buckets hotels into fixed-size latitude/longitude cells. Nearest-neighbour searches walk rings of cells outward
+ * from the query point and stop once no unvisited cell can hold anything closer than the current k-th match.
+ * <p>
+ * Hotels written on this node are applied after commit; the whole index is reloaded on a fixed delay so hotels
+ * created, moved or deleted on other nodes show up within one refresh interval.
+ */
+@Component
+public class GeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final HotelRepository hotelRepo;
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+
+    private final Object swapLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot();
+    private List<Consumer<Snapshot>> pendingChanges;
+
+    public GeoIndex(HotelRepository hotelRepo,
+                    @Value("${booking.geo-index.cell-degrees:0.25}") double cellDegrees) {
+        this.hotelRepo = hotelRepo;
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees) + 1;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    // Local writes that commit while the snapshot loads are replayed onto it before it is swapped in.
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${booking.geo-index.refresh-ms:60000}",
+            initialDelayString = "${booking.geo-index.refresh-ms:60000}")
+    public void seed() {
+        Snapshot next = new Snapshot();
+        synchronized (swapLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            hotelRepo.findAllIndexedHotels().forEach(next::indexHotel);
+        } catch (RuntimeException exception) {
+            synchronized (swapLock) {
+                pendingChanges = null;
+            }
+            throw exception;
+        }
+        synchronized (swapLock) {
+            pendingChanges.forEach(change -> change.accept(next));
+            pendingChanges = null;
+            snapshot = next;
+        }
+    }
+
+    public void putHotel(Hotel hotel) {
+        IndexedHotel indexedHotel = new IndexedHotel(hotel.getId(), hotel.getName(), hotel.getRoomCount(),
+                hotel.getLocation().getLatitude(), hotel.getLocation().getLongitude());
+        afterCommit(current -> current.indexHotel(indexedHotel));
+    }
+
+    public void removeHotel(Long hotelId) {
+        afterCommit(current -> current.removeHotel(hotelId));
+    }
+
+    private void afterCommit(Consumer<Snapshot> change) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (swapLock) {
+                change.accept(snapshot);
+                if (pendingChanges != null)
+                    pendingChanges.add(change);
+            }
+        });
+    }
+
+    public List<NearbyHotelResponseDTO> findNearest(double latitude, double longitude, int limit, double maxDistanceKm) {
+        Snapshot current = snapshot;
+        PriorityQueue<NearbyHotelResponseDTO> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyHotelResponseDTO::distanceKm).reversed());
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        int maxRing = columns / 2;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            double bound = lowerBoundKm(ring, latitude);
+            if (bound > maxDistanceKm || (nearest.size() == limit && bound > nearest.peek().distanceKm()))
+                break;
+            if (8L * ring > current.cells.size())
+                return scanAll(current.hotels.values(), latitude, longitude, limit, maxDistanceKm);
+            for (long cell : ringCells(centerRow, centerColumn, ring))
+                for (IndexedHotel hotel : current.cells.getOrDefault(cell, Map.of()).values())
+                    offer(nearest, hotel, distanceKm(latitude, longitude, hotel.latitude(), hotel.longitude()),
+                            limit, maxDistanceKm);
+        }
+        return sorted(nearest);
+    }
+
+    public List<IndexedHotel> findWithin(double minLatitude, double maxLatitude,
+                                         double minLongitude, double maxLongitude, int limit) {
+        Map<Long, Map<Long, IndexedHotel>> cells = snapshot.cells;
+        List<IndexedHotel> matches = new ArrayList<>();
+        int lastColumn = column(maxLongitude);
+        int columnSpan = maxLongitude - minLongitude >= 360
+                ? columns - 1 : Math.floorMod(lastColumn - column(minLongitude), columns);
+        for (int row = row(minLatitude); row <= row(maxLatitude); row++) {
+            for (int offset = 0; offset <= columnSpan; offset++) {
+                long cell = cellKey(row, Math.floorMod(lastColumn - offset, columns));
+                for (IndexedHotel hotel : cells.getOrDefault(cell, Map.of()).values())
+                    if (hotel.latitude() >= minLatitude && hotel.latitude() <= maxLatitude
+                            && withinLongitudes(hotel.longitude(), minLongitude, maxLongitude))
+                        matches.add(hotel);
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparing(IndexedHotel::id))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<NearbyHotelResponseDTO> scanAll(Collection<IndexedHotel> hotels, double latitude, double longitude,
+                                                 int limit, double maxDistanceKm) {
+        PriorityQueue<NearbyHotelResponseDTO> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyHotelResponseDTO::distanceKm).reversed());
+        for (IndexedHotel hotel : hotels)
+            offer(nearest, hotel, distanceKm(latitude, longitude, hotel.latitude(), hotel.longitude()),
+                    limit, maxDistanceKm);
+        return sorted(nearest);
+    }
+
+    private void offer(PriorityQueue<NearbyHotelResponseDTO> nearest, IndexedHotel hotel, double distance,
+                       int limit, double maxDistanceKm) {
+        if (distance > maxDistanceKm)
+            return;
+        if (nearest.size() < limit) {
+            nearest.add(new NearbyHotelResponseDTO(hotel.toResponse(), distance));
+        } else if (distance < nearest.peek().distanceKm()) {
+            nearest.poll();
+            nearest.add(new NearbyHotelResponseDTO(hotel.toResponse(), distance));
+        }
+    }
+
+    private static List<NearbyHotelResponseDTO> sorted(PriorityQueue<NearbyHotelResponseDTO> nearest) {
+        List<NearbyHotelResponseDTO> result = new ArrayList<>(nearest);
+        result.sort(Comparator.comparingDouble(NearbyHotelResponseDTO::distanceKm));
+        return result;
+    }
+
+    private class Snapshot {
+
+        private final Map<Long, IndexedHotel> hotels = new ConcurrentHashMap<>();
+        private final Map<Long, Map<Long, IndexedHotel>> cells = new ConcurrentHashMap<>();
+
+        void indexHotel(IndexedHotel hotel) {
+            IndexedHotel previous = hotels.put(hotel.id(), hotel);
+            if (previous != null)
+                unlink(previous);
+            cells.compute(cellOf(hotel), (key, cell) -> {
+                Map<Long, IndexedHotel> target = cell == null ? new ConcurrentHashMap<>() : cell;
+                target.put(hotel.id(), hotel);
+                return target;
+            });
+        }
+
+        void removeHotel(Long hotelId) {
+            IndexedHotel previous = hotels.remove(hotelId);
+            if (previous != null)
+                unlink(previous);
+        }
+
+        private void unlink(IndexedHotel hotel) {
+            cells.computeIfPresent(cellOf(hotel), (key, cell) -> {
+                cell.remove(hotel.id());
+                return cell.isEmpty() ? null : cell;
+            });
+        }
+    }
+
+    private List<Long> ringCells(int centerRow, int centerColumn, int ring) {
+        if (ring == 0)
+            return List.of(cellKey(centerRow, centerColumn));
+        Set<Long> ringCells = new LinkedHashSet<>();
+        for (int offset = -ring; offset <= ring; offset++) {
+            addCell(ringCells, centerRow - ring, centerColumn + offset);
+            addCell(ringCells, centerRow + ring, centerColumn + offset);
+            addCell(ringCells, centerRow + offset, centerColumn - ring);
+            addCell(ringCells, centerRow + offset, centerColumn + ring);
+        }
+        return new ArrayList<>(ringCells);
+    }
+
+    private void addCell(Set<Long> ringCells, int row, int column) {
+        if (row >= 0 && row < rows)
+            ringCells.add(cellKey(row, Math.floorMod(column, columns)));
+    }
+
+    // Anything in ring r is at least (r - 1) cells away from the query point in latitude or longitude.
+    private double lowerBoundKm(int ring, double latitude) {
+        if (ring <= 1)
+            return 0;
+        double offset = Math.toRadians(Math.min((ring - 1) * cellDegrees, 180));
+        double farthestLatitude = Math.toRadians(Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees));
+        double latitudeBound = EARTH_RADIUS_KM * offset;
+        double longitudeBound = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1,
+                Math.cos(Math.toRadians(latitude)) * Math.cos(farthestLatitude) * Math.sin(offset / 2)));
+        return Math.min(latitudeBound, longitudeBound);
+    }
+
+    private static boolean withinLongitudes(double longitude, double minLongitude, double maxLongitude) {
+        if (minLongitude <= maxLongitude)
+            return longitude >= minLongitude && longitude <= maxLongitude;
+        return longitude >= minLongitude || longitude <= maxLongitude;
+    }
+
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.pow(Math.sin(deltaLatitude / 2), 2) + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2)) * Math.pow(Math.sin(deltaLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private long cellOf(IndexedHotel hotel) {
+        return cellKey(row(hotel.latitude()), column(hotel.longitude()));
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private int row(double latitude) {
+        double clamped = Math.max(-90, Math.min(90, latitude));
+        return (int) Math.floor((clamped + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+}
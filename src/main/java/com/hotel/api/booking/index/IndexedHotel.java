@@ -0,0 +1,10 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.HotelResponseDTO;
+
+public record IndexedHotel(Long id, String name, int roomCount, double latitude, double longitude) {
+
+    public HotelResponseDTO toResponse() {
+        return new HotelResponseDTO(id, name, roomCount, latitude, longitude);
+    }
+}
@@ -0,0 +1,12 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+
+public record IndexedRoom(Long hotelId, Long id, int roomNumber, RoomType type, double price, RoomStatus status) {
+
+    public RoomResponseDTO toResponse() {
+        return new RoomResponseDTO(id, roomNumber, type, price, status);
+    }
+}
@@ -0,0 +1,173 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
+import com.hotel.api.booking.model.Room;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps one day-indexed bitset per room so availability can be answered without touching the database.
+ * A booking occupies every day from check-in to check-out inclusive, matching
+ * {@link BookingRepository#isRoomAlreadyBooked}. Days before the index origin are not tracked.
+ * <p>
+ * Writes made on this node are applied after commit. Writes made on other nodes only reach the index through
+ * the periodic rebuild, which also moves the origin to yesterday so past days stop taking up space; local writes
+ * that land while a rebuild is loading are replayed onto the new snapshot before it is swapped in.
+ */
+@Component
+public class OccupancyIndex {
+
+    private final RoomRepository roomRepo;
+    private final BookingRepository bookingRepo;
+    private final boolean enabled;
+
+    private final Object swapLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now().minusDays(1).toEpochDay());
+    private List<Consumer<Snapshot>> pendingChanges;
+    private volatile boolean ready;
+
+    public OccupancyIndex(RoomRepository roomRepo,
+                          BookingRepository bookingRepo,
+                          @Value("${booking.availability-index.enabled:true}") boolean enabled) {
+        this.roomRepo = roomRepo;
+        this.bookingRepo = bookingRepo;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${booking.availability-index.refresh-ms:60000}",
+            initialDelayString = "${booking.availability-index.refresh-ms:60000}")
+    public void seed() {
+        if (!enabled)
+            return;
+        Snapshot next = new Snapshot(LocalDate.now().minusDays(1).toEpochDay());
+        synchronized (swapLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            roomRepo.findAllIndexedRooms().forEach(next::indexRoom);
+            bookingRepo.findAllStaysEndingAfter(Date.valueOf(LocalDate.ofEpochDay(next.originDay)))
+                    .forEach(stay -> next.indexBooking(stay.roomId(), stay.id(), stay.checkIn(), stay.checkOut()));
+        } catch (RuntimeException exception) {
+            synchronized (swapLock) {
+                pendingChanges = null;
+            }
+            throw exception;
+        }
+        synchronized (swapLock) {
+            pendingChanges.forEach(change -> change.accept(next));
+            pendingChanges = null;
+            snapshot = next;
+        }
+        ready = true;
+    }
+
+    public boolean covers(Date checkIn) {
+        return ready && checkIn.toLocalDate().toEpochDay() >= snapshot.originDay;
+    }
+
+    public List<RoomResponseDTO> findAvailableRooms(Long hotelId, Date checkIn, Date checkOut) {
+        Snapshot current = snapshot;
+        // A rebuild may have moved the origin past checkIn since covers() was asked; untracked days count as free.
+        int from = Math.max(current.toOffset(checkIn), 0);
+        int to = current.toOffset(checkOut);
+        return current.hotels.getOrDefault(hotelId, Map.of()).values().stream()
+                .filter(occupancy -> occupancy.room().status() == RoomStatus.AVAILABLE)
+                .filter(occupancy -> to < 0 || occupancy.isFree(from, to))
+                .map(occupancy -> occupancy.room().toResponse())
+                .sorted(Comparator.comparing(RoomResponseDTO::id))
+                .toList();
+    }
+
+    public void putRoom(Room room) {
+        IndexedRoom indexedRoom = new IndexedRoom(room.getHotel().getId(), room.getId(),
+                room.getRoomNumber(), room.getType(), room.getPrice(), room.getStatus());
+        afterCommit(current -> current.indexRoom(indexedRoom));
+    }
+
+    public void removeRoom(Long roomId) {
+        afterCommit(current -> current.removeRoom(roomId));
+    }
+
+    public void removeHotel(Long hotelId) {
+        afterCommit(current -> current.removeHotel(hotelId));
+    }
+
+    public void putBooking(Long roomId, Long bookingId, Date checkIn, Date checkOut) {
+        afterCommit(current -> current.indexBooking(roomId, bookingId, checkIn, checkOut));
+    }
+
+    public void removeBooking(Long roomId, Long bookingId) {
+        afterCommit(current -> current.releaseBooking(roomId, bookingId));
+    }
+
+    private void afterCommit(Consumer<Snapshot> change) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (swapLock) {
+                change.accept(snapshot);
+                if (pendingChanges != null)
+                    pendingChanges.add(change);
+            }
+        });
+    }
+
+    private static class Snapshot {
+
+        private final long originDay;
+        private final Map<Long, Map<Long, RoomOccupancy>> hotels = new ConcurrentHashMap<>();
+        private final Map<Long, RoomOccupancy> rooms = new ConcurrentHashMap<>();
+
+        Snapshot(long originDay) {
+            this.originDay = originDay;
+        }
+
+        void indexRoom(IndexedRoom room) {
+            RoomOccupancy occupancy = rooms.computeIfAbsent(room.id(), id -> new RoomOccupancy(room));
+            occupancy.setRoom(room);
+            hotels.computeIfAbsent(room.hotelId(), id -> new ConcurrentHashMap<>()).put(room.id(), occupancy);
+        }
+
+        void removeRoom(Long roomId) {
+            RoomOccupancy occupancy = rooms.remove(roomId);
+            if (occupancy != null)
+                hotels.getOrDefault(occupancy.room().hotelId(), Map.of()).remove(roomId);
+        }
+
+        void removeHotel(Long hotelId) {
+            Map<Long, RoomOccupancy> hotelRooms = hotels.remove(hotelId);
+            if (hotelRooms != null)
+                hotelRooms.keySet().forEach(rooms::remove);
+        }
+
+        void indexBooking(Long roomId, Long bookingId, Date checkIn, Date checkOut) {
+            RoomOccupancy occupancy = rooms.get(roomId);
+            if (occupancy != null)
+                occupancy.book(bookingId, toOffset(checkIn), toOffset(checkOut));
+        }
+
+        void releaseBooking(Long roomId, Long bookingId) {
+            RoomOccupancy occupancy = rooms.get(roomId);
+            if (occupancy != null)
+                occupancy.release(bookingId);
+        }
+
+        int toOffset(Date date) {
+            return Math.toIntExact(date.toLocalDate().toEpochDay() - originDay);
+        }
+    }
+}
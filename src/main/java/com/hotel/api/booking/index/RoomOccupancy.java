@@ -0,0 +1,51 @@
+package com.hotel.api.booking.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+class RoomOccupancy {
+
+    private final BitSet days = new BitSet();
+    private final Map<Long, int[]> stays = new HashMap<>();
+    private volatile IndexedRoom room;
+
+    RoomOccupancy(IndexedRoom room) {
+        this.room = room;
+    }
+
+    IndexedRoom room() {
+        return room;
+    }
+
+    void setRoom(IndexedRoom room) {
+        this.room = room;
+    }
+
+    synchronized void book(Long bookingId, int from, int to) {
+        release(bookingId);
+        if (to < 0)
+            return;
+        int[] stay = {Math.max(from, 0), to};
+        stays.put(bookingId, stay);
+        days.set(stay[0], stay[1] + 1);
+    }
+
+    synchronized void release(Long bookingId) {
+        int[] stay = stays.remove(bookingId);
+        if (stay == null)
+            return;
+        days.clear(stay[0], stay[1] + 1);
+        // Overlapping stays should never be admitted, but re-mark any that slipped through so
+        // releasing one booking can not free days still held by another.
+        for (int[] other : stays.values()) {
+            if (other[0] <= stay[1] && other[1] >= stay[0])
+                days.set(other[0], other[1] + 1);
+        }
+    }
+
+    synchronized boolean isFree(int from, int to) {
+        int next = days.nextSetBit(from);
+        return next == -1 || next > to;
+    }
+}
@@ -7,17 +7,17 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Where;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @NoArgsConstructor
-@AllArgsConstructor
 @Data
 @Entity
+@Where(clause = "deleted = false")
 public class Hotel {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
@@ -49,4 +49,29 @@ public class Hotel {
     @JsonIgnore
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     private Set<Booking> bookings = new HashSet<>();
+
+    @JsonIgnore
+    @Column(columnDefinition = "boolean default false not null")
+    private boolean deleted;
+
+    // Only ever changed by the conditional updates in HotelRepository, never flushed from the entity.
+    @JsonIgnore
+    @Column(columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int currentRoomCount;
+
+    // Bumped by HotelRepository in the transaction of every change to the hotel or its rooms; see CatalogVersions.
+    @JsonIgnore
+    @Column(columnDefinition = "bigint default 0 not null", insertable = false, updatable = false)
+    private long catalogVersion;
+
+    public Hotel(Long id, String name, int roomCount, GeoLocation location, User user,
+                 Set<Room> rooms, Set<Booking> bookings) {
+        this.id = id;
+        this.name = name;
+        this.roomCount = roomCount;
+        this.location = location;
+        this.user = user;
+        this.rooms = rooms;
+        this.bookings = bookings;
+    }
 }
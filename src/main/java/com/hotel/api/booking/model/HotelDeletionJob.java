@@ -0,0 +1,44 @@
+package com.hotel.api.booking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@NoArgsConstructor
+@Data
+@Entity
+public class HotelDeletionJob {
+
+    @Id
+    private Long hotelId;
+
+    private Long userId;
+
+    private long bookingsDeleted;
+
+    private long roomsDeleted;
+
+    @NotNull
+    private Instant requestedAt;
+
+    private Instant completedAt;
+
+    // The node purging the hotel renews this after every batch; once it lapses any node may take the job over.
+    private Instant leaseExpiresAt;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    public HotelDeletionJob(Long hotelId, Long userId, Instant requestedAt) {
+        this.hotelId = hotelId;
+        this.userId = userId;
+        this.requestedAt = requestedAt;
+    }
+}
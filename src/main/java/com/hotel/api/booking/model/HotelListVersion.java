@@ -0,0 +1,20 @@
+package com.hotel.api.booking.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A single row, written by the first hotel change, that moves with every change to the hotel list.
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+public class HotelListVersion {
+
+    @Id
+    private Long id;
+
+    private long version;
+}
@@ -0,0 +1,23 @@
+package com.hotel.api.booking.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+public class TokenRevocation {
+
+    @Id
+    private Long userId;
+
+    @NotNull
+    private Instant revokedAt;
+}
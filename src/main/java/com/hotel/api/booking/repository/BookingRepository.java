@@ -1,25 +1,47 @@
 package com.hotel.api.booking.repository;
 
+import com.hotel.api.booking.dto.response.BookingResponseDTO;
+import com.hotel.api.booking.index.BookingStay;
 import com.hotel.api.booking.model.Booking;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    @Query("select booking from Booking booking where booking.hotel.id = :hotelId " +
-            "and booking.room.id = :roomId")
-    List<Booking> findAllUserBookingByRoomAndHotelId(Long hotelId, Long roomId);
+    String STREAM_FETCH_SIZE = "500";
+    String BOOKING_RESPONSE = "new com.hotel.api.booking.dto.response.BookingResponseDTO(booking.id, " +
+            "booking.room.id, booking.guestName, booking.contactInfo.address, booking.contactInfo.phone, " +
+            "booking.checkIn, booking.checkOut)";
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.hotel.id = :hotelId " +
+            "and booking.hotel.deleted = false and booking.room.id = :roomId order by booking.id")
+    Stream<BookingResponseDTO> streamAllByRoomAndHotelId(Long hotelId, Long roomId);
 
-    @Query("select booking from Booking booking where booking.id = :bookingId " +
-            "and booking.hotel.id = :hotelId and booking.room.id = :roomId ")
-    Optional<Booking> findUserBookingByRoomAndHotelId(Long bookingId, Long hotelId, Long roomId);
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.hotel.id = :hotelId " +
+            "and booking.hotel.deleted = false and booking.room.id = :roomId and booking.id > :after order by booking.id")
+    List<BookingResponseDTO> findPageByRoomAndHotelId(Long hotelId, Long roomId, Long after, Pageable limit);
+
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.id = :bookingId " +
+            "and booking.hotel.id = :hotelId and booking.hotel.deleted = false and booking.room.id = :roomId")
+    Optional<BookingResponseDTO> findResponseByRoomAndHotelId(Long bookingId, Long hotelId, Long roomId);
 
     @Query("select exists (select booking from Booking booking where booking.room.id = :roomId " +
             "and (booking.checkIn between :checkIn and :checkOut " +
@@ -29,24 +51,52 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     @Query("select exists (select booking from Booking booking where booking.room.id = :roomId " +
             "and booking.id != :bookingId and (booking.checkIn between :checkIn and :checkOut " +
-            "or booking.checkOut between :checkIn and :checkOut))")
+            "or booking.checkOut between :checkIn and :checkOut " +
+            "or :checkIn between booking.checkIn and booking.checkOut))")
     boolean isRoomAlreadyBooked(Long roomId, Long bookingId, Date checkIn, Date checkOut);
 
-    @Query("select booking from Booking booking join booking.hotel hotel where hotel.id = :id")
-    List<Booking> findAllByHotelId(Long id);
+    @Query("select booking.room.id from Booking booking where booking.room.id in :roomIds and " +
+            "(booking.checkIn between :checkIn and :checkOut or " +
+            "booking.checkOut between :checkIn and :checkOut or " +
+            ":checkIn between booking.checkIn and booking.checkOut)")
+    Set<Long> findBookedRoomIdsByRoomIdsAndDate(Collection<Long> roomIds, Date checkIn, Date checkOut);
+
+    @Query(value = "select count(*) from (select pg_advisory_xact_lock(:roomId)) as room_lock", nativeQuery = true)
+    int lockRoom(Long roomId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.hotel.id = :id " +
+            "and booking.hotel.deleted = false order by booking.id")
+    Stream<BookingResponseDTO> streamAllByHotelId(Long id);
 
-    @Query("select booking from Booking booking where booking.hotel.id = :hotelId and " +
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.hotel.id = :id " +
+            "and booking.hotel.deleted = false and booking.id > :after order by booking.id")
+    List<BookingResponseDTO> findPageByHotelId(Long id, Long after, Pageable limit);
+
+    @Query("select booking.room.id from Booking booking where booking.hotel.id in :hotelIds and " +
             "(booking.checkIn between :checkIn and :checkOut or " +
             "booking.checkOut between :checkIn and :checkOut or " +
             ":checkIn between booking.checkIn and booking.checkOut)")
-    List<Booking> findAllByHotelIdAndDate(Long hotelId, Date checkIn, Date checkOut);
+    Set<Long> findBookedRoomIdsByHotelIdsAndDate(Collection<Long> hotelIds, Date checkIn, Date checkOut);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.hotel.id = :id " +
+            "and booking.hotel.deleted = false and booking.user.id = :userId order by booking.id")
+    Stream<BookingResponseDTO> streamAllByHotelIdAndUserId(Long id, Long userId);
+
+    @Query("select " + BOOKING_RESPONSE + " from Booking booking where booking.hotel.id = :id " +
+            "and booking.hotel.deleted = false and booking.user.id = :userId and booking.id > :after order by booking.id")
+    List<BookingResponseDTO> findPageByHotelIdAndUserId(Long id, Long userId, Long after, Pageable limit);
 
-    @Query("select booking from Booking booking join booking.hotel hotel where hotel.id = :id and booking.user.id = :userId")
-    List<Booking> findAllByHotelIdAndUserId(Long id, Long userId);
+    @Query("select new com.hotel.api.booking.index.BookingStay(booking.id, booking.room.id, " +
+            "booking.checkIn, booking.checkOut) from Booking booking where booking.checkOut >= :from")
+    List<BookingStay> findAllStaysEndingAfter(Date from);
 
+    @Transactional
     @Modifying
-    @Query("delete from Booking booking where booking.hotel.id = :id")
-    void deleteByHotelId(Long id);
+    @Query(value = "delete from booking where id in " +
+            "(select id from booking where hotel_id = :hotelId limit :batchSize)", nativeQuery = true)
+    int deleteBatchByHotelId(Long hotelId, int batchSize);
 
     @Modifying
     @Query("delete from Booking booking where booking.room.id = :id")
@@ -0,0 +1,26 @@
+package com.hotel.api.booking.repository;
+
+import com.hotel.api.booking.model.HotelDeletionJob;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface HotelDeletionJobRepository extends JpaRepository<HotelDeletionJob, Long> {
+
+    @Query("select job.hotelId from HotelDeletionJob job where job.completedAt is null " +
+            "and (job.leaseExpiresAt is null or job.leaseExpiresAt < :now) order by job.requestedAt")
+    List<Long> findAllClaimable(Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update HotelDeletionJob job set job.leaseExpiresAt = :leaseExpiresAt, job.version = job.version + 1 " +
+            "where job.hotelId = :hotelId and job.completedAt is null " +
+            "and (job.leaseExpiresAt is null or job.leaseExpiresAt < :now)")
+    int claim(Long hotelId, Instant now, Instant leaseExpiresAt);
+}
@@ -0,0 +1,23 @@
+package com.hotel.api.booking.repository;
+
+import com.hotel.api.booking.model.HotelListVersion;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface HotelListVersionRepository extends JpaRepository<HotelListVersion, Long> {
+
+    @Query("select list.version from HotelListVersion list where list.id = 1")
+    Optional<Long> findVersion();
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into hotel_list_version (id, version) values (1, 1) " +
+            "on conflict (id) do update set version = hotel_list_version.version + 1", nativeQuery = true)
+    int bump();
+}
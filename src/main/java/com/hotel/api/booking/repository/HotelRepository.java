@@ -1,9 +1,64 @@
 package com.hotel.api.booking.repository;
 
+import com.hotel.api.booking.dto.response.HotelResponseDTO;
+import com.hotel.api.booking.index.IndexedHotel;
 import com.hotel.api.booking.model.Hotel;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    String HOTEL_RESPONSE = "new com.hotel.api.booking.dto.response.HotelResponseDTO(hotel.id, hotel.name, " +
+            "hotel.roomCount, hotel.location.latitude, hotel.location.longitude)";
+
+    @Query("select " + HOTEL_RESPONSE + " from Hotel hotel where hotel.id = :id")
+    Optional<HotelResponseDTO> findResponseById(Long id);
+
+    @Query("select hotel.catalogVersion from Hotel hotel where hotel.id = :id")
+    Optional<Long> findCatalogVersionById(Long id);
+
+    @Query("select new com.hotel.api.booking.index.IndexedHotel(hotel.id, hotel.name, hotel.roomCount, " +
+            "hotel.location.latitude, hotel.location.longitude) from Hotel hotel")
+    List<IndexedHotel> findAllIndexedHotels();
+
+    @Query("select " + HOTEL_RESPONSE + " from Hotel hotel where hotel.id > :after order by hotel.id")
+    List<HotelResponseDTO> findPageAfter(Long after, Pageable limit);
+
+    @Transactional
+    @Query(value = "update hotel set current_room_count = current_room_count + :count " +
+            "where id = :id and current_room_count + :count <= room_count returning current_room_count",
+            nativeQuery = true)
+    Optional<Integer> reserveRooms(Long id, int count);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update hotel set current_room_count = current_room_count - :count " +
+            "where id = :id and current_room_count >= :count", nativeQuery = true)
+    int releaseRooms(Long id, int count);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update hotel set current_room_count = counted.rooms from " +
+            "(select hotel.id, count(room.id) as rooms from hotel left join room on room.hotel_id = hotel.id " +
+            "group by hotel.id) counted where hotel.id = counted.id and hotel.current_room_count <> counted.rooms",
+            nativeQuery = true)
+    int reconcileCurrentRoomCounts();
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update hotel set catalog_version = catalog_version + 1 where id = :id", nativeQuery = true)
+    int bumpCatalogVersion(Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from hotel where id = :id and deleted", nativeQuery = true)
+    int purgeDeletedById(Long id);
 }
@@ -1,31 +1,75 @@
 package com.hotel.api.booking.repository;
 
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
+import com.hotel.api.booking.index.IndexedRoom;
 import com.hotel.api.booking.model.Room;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.hotel.api.booking.repository.BookingRepository.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
-    @Query("select room from Room room join room.hotel hotel where hotel.id = :hotelId")
-    List<Room> findAllByHotelId(Long hotelId);
+    String ROOM_RESPONSE = "new com.hotel.api.booking.dto.response.RoomResponseDTO(room.id, room.roomNumber, " +
+            "room.type, room.price, room.status)";
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select " + ROOM_RESPONSE + " from Room room where room.hotel.id = :hotelId " +
+            "and room.hotel.deleted = false order by room.id")
+    Stream<RoomResponseDTO> streamAllByHotelId(Long hotelId);
 
-    @Query("select room from Room room join room.hotel hotel where hotel.id = :hotelId and room.id = :roomId")
+    @Query("select " + ROOM_RESPONSE + " from Room room where room.hotel.id = :hotelId " +
+            "and room.hotel.deleted = false and room.id > :after order by room.id")
+    List<RoomResponseDTO> findPageByHotelId(Long hotelId, Long after, Pageable limit);
+
+    @Query("select room from Room room join room.hotel hotel where hotel.id = :hotelId " +
+            "and hotel.deleted = false and room.id = :roomId")
     Optional<Room> findByRoomIdAndHotelId(Long hotelId, Long roomId);
 
+    @Query("select room from Room room where room.hotel.id = :hotelId and room.id in :roomIds")
+    List<Room> findAllByRoomIdsAndHotelId(Long hotelId, Collection<Long> roomIds);
+
+    @Query("select " + ROOM_RESPONSE + " from Room room where room.hotel.id = :hotelId " +
+            "and room.hotel.deleted = false and room.id = :roomId")
+    Optional<RoomResponseDTO> findResponseByRoomIdAndHotelId(Long hotelId, Long roomId);
+
+    @Query("select exists (select room from Room room where room.hotel.id = :hotelId and room.id = :roomId)")
+    boolean existsByRoomIdAndHotelId(Long hotelId, Long roomId);
+
+    @Transactional
     @Modifying
-    @Query("delete from Room room where room.hotel.id = :id")
-    void deleteByHotelId(Long id);
+    @Query(value = "delete from room where id in " +
+            "(select id from room where hotel_id = :hotelId limit :batchSize)", nativeQuery = true)
+    int deleteBatchByHotelId(Long hotelId, int batchSize);
 
     @Modifying
     @Query("delete from Room room where room.id = :id")
     void deleteByRoomId(Long id);
 
-    @Query("select count(room) from Room room where room.hotel.id = :id")
-    int getRoomCountByHotelId(Long id);
+    @Query("select room.roomNumber from Room room where room.hotel.id = :hotelId")
+    Set<Integer> findRoomNumbersByHotelId(Long hotelId);
+
+    @Query("select new com.hotel.api.booking.index.IndexedRoom(room.hotel.id, room.id, room.roomNumber, " +
+            "room.type, room.price, room.status) from Room room where room.hotel.deleted = false")
+    List<IndexedRoom> findAllIndexedRooms();
+
+    @Query("select new com.hotel.api.booking.index.IndexedRoom(room.hotel.id, room.id, room.roomNumber, " +
+            "room.type, room.price, room.status) from Room room " +
+            "where room.hotel.id in :hotelIds and room.hotel.deleted = false")
+    List<IndexedRoom> findAllIndexedRoomsByHotelIds(Collection<Long> hotelIds);
 }
@@ -0,0 +1,16 @@
+package com.hotel.api.booking.repository;
+
+import com.hotel.api.booking.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    @Query("select revocation from TokenRevocation revocation where revocation.revokedAt > :since")
+    List<TokenRevocation> findAllRevokedSince(Instant since);
+}
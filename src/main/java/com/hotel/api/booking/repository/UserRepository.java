@@ -2,7 +2,9 @@ package com.hotel.api.booking.repository;
 
 import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,11 +15,27 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    boolean existsByEmail(String email);
+
     List<User> findByAuthority(Authority authority);
 
-    @Query("select user from Hotel hotel join hotel.user user where hotel.id = :hotelId")
-    Optional<User> findUserByHotelId(Long hotelId);
+    @Query("select user.email from Hotel hotel join hotel.user user where hotel.id = :hotelId")
+    Optional<String> findEmailByHotelId(Long hotelId);
+
+    @Query("select booking.hotel.id as hotelId, user.email as email from Booking booking join booking.user user " +
+            "where booking.id = :bookingId")
+    Optional<BookingOwner> findOwnerByBookingId(Long bookingId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from user_data where id = :id and not exists " +
+            "(select 1 from booking where user_id = :id) and not exists (select 1 from hotel where user_id = :id)",
+            nativeQuery = true)
+    int deleteIfUnreferenced(Long id);
+
+    interface BookingOwner {
+        Long getHotelId();
 
-    @Query("select user from Booking booking join booking.user user where booking.id = :bookingId")
-    Optional<User> findUserByBookingId(Long bookingId);
+        String getEmail();
+    }
 }
@@ -1,10 +1,11 @@
 package com.hotel.api.booking.service;
 
 import com.hotel.api.booking.dto.request.AuthenticationRequestDTO;
+import com.hotel.api.booking.exception.UserAlreadyExistException;
 import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.User;
 import com.hotel.api.booking.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -14,23 +15,23 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Timed("booking.service")
 public class AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
 
-    @Transactional
+    // Hashing waits its turn on the bounded bcrypt pool, so it happens here, before any transaction holds a
+    // connection; the caller persists the returned user in a short transaction of its own.
+    public User newUser(String name, String email, String password, Authority authority) {
+        if (userRepo.existsByEmail(email))
+            throw new UserAlreadyExistException(1202);
+        return new User(name, email, passwordEncoder.encode(password), authority);
+    }
+
     public User signup(String name, String email, String password, Authority authority) {
-        User user = new User(
-                name,
-                email,
-                passwordEncoder.encode(password),
-                authority
-        );
-        userRepo.save(user);
-        userRepo.flush();
-        return user;
+        return userRepo.saveAndFlush(newUser(name, email, password, authority));
     }
 
     public User login(AuthenticationRequestDTO requestDTO) {
@@ -0,0 +1,67 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes booking admissions that target the same room while leaving unrelated rooms untouched.
+ * Within a node, rooms hash onto a fixed set of striped locks; across nodes, a transaction-scoped
+ * Postgres advisory lock per room provides the same guarantee. Both are held until the surrounding
+ * transaction completes, so the availability check and the insert behave as one step.
+ */
+@Component
+public class BookingAdmissionService {
+
+    private final BookingRepository bookingRepo;
+    private final ReentrantLock[] stripes;
+    private final boolean databaseLock;
+
+    public BookingAdmissionService(BookingRepository bookingRepo,
+                                   @Value("${booking.admission.stripes:256}") int stripeCount,
+                                   @Value("${booking.admission.database-lock:true}") boolean databaseLock) {
+        this.bookingRepo = bookingRepo;
+        this.databaseLock = databaseLock;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(stripeCount, 1))];
+        for (int i = 0; i < stripes.length; i++)
+            stripes[i] = new ReentrantLock();
+    }
+
+    public void admit(Long roomId) {
+        admit(List.of(roomId));
+    }
+
+    public void admit(Collection<Long> roomIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            throw new IllegalStateException("Booking admission requires an active transaction");
+        roomIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(this::lockUntilCompletion);
+        if (databaseLock)
+            roomIds.stream().distinct().sorted().forEach(bookingRepo::lockRoom);
+    }
+
+    private void lockUntilCompletion(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeOf(Long roomId) {
+        int hash = Long.hashCode(roomId);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
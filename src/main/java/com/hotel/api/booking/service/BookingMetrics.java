@@ -0,0 +1,54 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.exception.ApplicationException;
+import com.hotel.api.booking.exception.RoomAlreadyBookedException;
+import com.hotel.api.booking.exception.RoomUnavailableException;
+import com.hotel.api.booking.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts booking admissions as {@code booking.admissions}, tagged with the outcome and, for rejections, the
+ * {@link ApplicationException} code of the throw site. Created bookings are counted once their transaction commits.
+ * Codes are unique per throw site, so each code keeps the counter it was first registered with.
+ */
+@Component
+public class BookingMetrics {
+
+    private static final String ADMISSIONS = "booking.admissions";
+
+    private final MeterRegistry registry;
+    private final Counter created;
+    private final Map<Integer, Counter> rejected = new ConcurrentHashMap<>();
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.created = Counter.builder(ADMISSIONS)
+                .tag("outcome", "created")
+                .tag("code", "none")
+                .register(registry);
+    }
+
+    public void created(int bookings) {
+        TransactionUtils.afterCommit(() -> created.increment(bookings));
+    }
+
+    public void rejected(ApplicationException exception) {
+        rejected.computeIfAbsent(exception.getCode(), code -> Counter.builder(ADMISSIONS)
+                .tag("outcome", outcome(exception))
+                .tag("code", Integer.toString(code))
+                .register(registry)).increment();
+    }
+
+    private static String outcome(ApplicationException exception) {
+        if (exception instanceof RoomAlreadyBookedException)
+            return "conflict";
+        if (exception instanceof RoomUnavailableException)
+            return "unavailable";
+        return "rejected";
+    }
+}
@@ -1,79 +1,179 @@
 package com.hotel.api.booking.service;
 
+import com.hotel.api.booking.dto.response.BookingResponseDTO;
+import com.hotel.api.booking.dto.response.CursorPageResponseDTO;
 import com.hotel.api.booking.exception.*;
+import com.hotel.api.booking.index.OccupancyIndex;
 import com.hotel.api.booking.model.*;
 import com.hotel.api.booking.repository.BookingRepository;
 import com.hotel.api.booking.repository.HotelRepository;
 import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.util.CursorUtils;
 import com.hotel.api.booking.util.GeneralUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Component
+@Timed("booking.service")
 public class BookingService {
 
 
     private final BookingRepository bookingRepo;
     private final RoomRepository roomRepo;
     private final HotelRepository hotelRepo;
+    private final UserRepository userRepo;
+    private final OccupancyIndex occupancyIndex;
+    private final BookingAdmissionService admissionService;
+    private final OwnershipCache ownershipCache;
+    private final BookingMetrics bookingMetrics;
 
-    public List<Booking> getAllBookingsOfUserInAHotel(Long userId, Long hotelId) {
-        hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1300));
-        return bookingRepo.findAllByHotelIdAndUserId(hotelId, userId);
+    public Stream<BookingResponseDTO> getAllBookingsOfUserInAHotel(Long userId, Long hotelId) {
+        return GeneralUtils.checkIfEmpty(bookingRepo.streamAllByHotelIdAndUserId(hotelId, userId),
+                () -> requireHotel(hotelId, 1300));
     }
 
-    public List<Booking> getAllBookingsInAHotel(Long hotelId) {
-        return bookingRepo.findAllByHotelId(hotelId);
+    public Stream<BookingResponseDTO> getAllBookingsInAHotel(Long hotelId) {
+        return bookingRepo.streamAllByHotelId(hotelId);
     }
 
-    public List<Booking> getAllBookingForRoom(Long hotelId, Long roomId) {
-        hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1302));
-        roomRepo.findByRoomIdAndHotelId(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1303));
-        return bookingRepo.findAllUserBookingByRoomAndHotelId(hotelId, roomId);
+    public Stream<BookingResponseDTO> getAllBookingForRoom(Long hotelId, Long roomId) {
+        return GeneralUtils.checkIfEmpty(bookingRepo.streamAllByRoomAndHotelId(hotelId, roomId), () -> {
+            requireHotel(hotelId, 1302);
+            requireRoom(hotelId, roomId, 1303);
+        });
     }
 
-    public Optional<Booking> getBookingDetails(Long hotelId, Long roomId, Long bookingId) {
-        hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1317));
-        roomRepo.findByRoomIdAndHotelId(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1318));
-        return bookingRepo.findUserBookingByRoomAndHotelId(bookingId, hotelId, roomId);
+    public CursorPageResponseDTO<BookingResponseDTO> getBookingsOfUserInAHotel(Long userId, Long hotelId,
+                                                                               Long after, int size) {
+        List<BookingResponseDTO> bookings =
+                bookingRepo.findPageByHotelIdAndUserId(hotelId, userId, after, CursorUtils.limit(size));
+        if (bookings.isEmpty())
+            requireHotel(hotelId, 1325);
+        return CursorPageResponseDTO.of(bookings, size, BookingResponseDTO::id);
     }
 
-    public Booking createBooking(Booking booking, Long hotelId, Long roomId) {
-        Hotel hotel = hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1311));
-        Room room = roomRepo.findByRoomIdAndHotelId(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1306));
-        boolean isRoomUnAvailable = room.getStatus() == RoomStatus.UNAVAILABLE;
-        boolean isRoomAlreadyBooked = bookingRepo.isRoomAlreadyBooked(roomId, booking.getCheckIn(), booking.getCheckOut());
-        if (isRoomUnAvailable)
-            throw new RoomUnavailableException(1307);
-        if (isRoomAlreadyBooked)
-            throw new RoomAlreadyBookedException(1308);
-        User currentUser = (User) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-        booking.setHotel(hotel);
-        booking.setUser(currentUser);
-        booking.setRoom(room);
-        bookingRepo.save(booking);
+    public CursorPageResponseDTO<BookingResponseDTO> getBookingsInAHotel(Long hotelId, Long after, int size) {
+        return CursorPageResponseDTO.of(bookingRepo.findPageByHotelId(hotelId, after, CursorUtils.limit(size)),
+                size, BookingResponseDTO::id);
+    }
+
+    public CursorPageResponseDTO<BookingResponseDTO> getBookingsForRoom(Long hotelId, Long roomId,
+                                                                        Long after, int size) {
+        List<BookingResponseDTO> bookings =
+                bookingRepo.findPageByRoomAndHotelId(hotelId, roomId, after, CursorUtils.limit(size));
+        if (bookings.isEmpty()) {
+            requireHotel(hotelId, 1326);
+            requireRoom(hotelId, roomId, 1327);
+        }
+        return CursorPageResponseDTO.of(bookings, size, BookingResponseDTO::id);
+    }
+
+    public Optional<BookingResponseDTO> getBookingDetails(Long hotelId, Long roomId, Long bookingId) {
+        Optional<BookingResponseDTO> booking = bookingRepo.findResponseByRoomAndHotelId(bookingId, hotelId, roomId);
+        if (booking.isEmpty()) {
+            requireHotel(hotelId, 1317);
+            requireRoom(hotelId, roomId, 1318);
+        }
         return booking;
     }
 
+    @Transactional
+    public Booking createBooking(Booking booking, Long hotelId, Long roomId) {
+        try {
+            Hotel hotel = hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1311));
+            Room room = roomRepo.findByRoomIdAndHotelId(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1306));
+            admissionService.admit(roomId);
+            boolean isRoomUnAvailable = room.getStatus() == RoomStatus.UNAVAILABLE;
+            boolean isRoomAlreadyBooked = bookingRepo.isRoomAlreadyBooked(roomId, booking.getCheckIn(), booking.getCheckOut());
+            if (isRoomUnAvailable)
+                throw new RoomUnavailableException(1307);
+            if (isRoomAlreadyBooked)
+                throw new RoomAlreadyBookedException(1308);
+            User currentUser = (User) SecurityContextHolder.getContext()
+                    .getAuthentication().getPrincipal();
+            booking.setHotel(hotel);
+            booking.setUser(userRepo.getReferenceById(currentUser.getId()));
+            booking.setRoom(room);
+            bookingRepo.save(booking);
+            occupancyIndex.putBooking(roomId, booking.getId(), booking.getCheckIn(), booking.getCheckOut());
+            bookingMetrics.created(1);
+            return booking;
+        } catch (ApplicationException exception) {
+            bookingMetrics.rejected(exception);
+            throw exception;
+        }
+    }
+
+    @Transactional
+    public List<Booking> createBookings(Booking stay, Long hotelId, Collection<Long> roomIds) {
+        try {
+            Hotel hotel = hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1335));
+            Set<Long> requestedRoomIds = new TreeSet<>(roomIds);
+            List<Room> rooms = roomRepo.findAllByRoomIdsAndHotelId(hotelId, requestedRoomIds);
+            if (rooms.size() != requestedRoomIds.size())
+                throw new RoomNotFoundException(1336);
+            admissionService.admit(requestedRoomIds);
+            if (rooms.stream().anyMatch(room -> room.getStatus() == RoomStatus.UNAVAILABLE))
+                throw new RoomUnavailableException(1337);
+            if (!bookingRepo.findBookedRoomIdsByRoomIdsAndDate(requestedRoomIds, stay.getCheckIn(), stay.getCheckOut()).isEmpty())
+                throw new RoomAlreadyBookedException(1338);
+            User currentUser = (User) SecurityContextHolder.getContext()
+                    .getAuthentication().getPrincipal();
+            User guest = userRepo.getReferenceById(currentUser.getId());
+            List<Booking> bookings = rooms.stream()
+                    .sorted(Comparator.comparing(Room::getId))
+                    .map(room -> new Booking(null, stay.getGuestName(),
+                            new ContactInfo(stay.getContactInfo().getAddress(), stay.getContactInfo().getPhone()),
+                            hotel, room, guest, stay.getCheckIn(), stay.getCheckOut()))
+                    .toList();
+            bookings = bookingRepo.saveAll(bookings);
+            bookings.forEach(booking -> occupancyIndex.putBooking(booking.getRoom().getId(), booking.getId(),
+                    booking.getCheckIn(), booking.getCheckOut()));
+            bookingMetrics.created(bookings.size());
+            return bookings;
+        } catch (ApplicationException exception) {
+            bookingMetrics.rejected(exception);
+            throw exception;
+        }
+    }
+
+    @Transactional
     public void updateBooking(Booking booking, Long hotelId, Long roomId, Long bookingId) {
         hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1319));
         roomRepo.findByRoomIdAndHotelId(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1320));
         Booking targetBooking = bookingRepo.findById(bookingId).orElseThrow(() -> new BookingNotFoundException(1312));
+        admissionService.admit(roomId);
         boolean isRoomAlreadyBooked = bookingRepo.isRoomAlreadyBooked(roomId, bookingId, booking.getCheckIn(), booking.getCheckOut());
         if (isRoomAlreadyBooked)
             throw new RoomAlreadyBookedException(1315);
         GeneralUtils.map(booking, targetBooking, false);
         bookingRepo.save(targetBooking);
+        occupancyIndex.putBooking(targetBooking.getRoom().getId(), bookingId,
+                targetBooking.getCheckIn(), targetBooking.getCheckOut());
     }
 
     public void deleteBooking(Long bookingId) {
-        bookingRepo.findById(bookingId).orElseThrow(() -> new BookingNotFoundException(1316));
+        Booking booking = bookingRepo.findById(bookingId).orElseThrow(() -> new BookingNotFoundException(1316));
         bookingRepo.deleteById(bookingId);
+        occupancyIndex.removeBooking(booking.getRoom().getId(), bookingId);
+        ownershipCache.evictBooking(bookingId);
+    }
+
+    private void requireHotel(Long hotelId, int code) {
+        if (!hotelRepo.existsById(hotelId))
+            throw new HotelNotFoundException(code);
+    }
+
+    private void requireRoom(Long hotelId, Long roomId, int code) {
+        if (!roomRepo.existsByRoomIdAndHotelId(hotelId, roomId))
+            throw new RoomNotFoundException(code);
     }
 }
@@ -0,0 +1,115 @@
+package com.hotel.api.booking.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized bodies of the hotel and room reads, plus a gzipped copy of the larger ones, so a repeated
+ * read is one byte copy instead of queries, DTO mapping and serialization. Entries are keyed by the hotel's
+ * {@link CatalogVersions} version, so a body rendered before a change is never served after it; bodies of older
+ * versions are no longer read and age out. Concurrent misses on the same entry wait for a single render. Bodies
+ * larger than {@code booking.response-cache.max-entry-bytes} are served but never stored, and the stored bodies
+ * together are bounded by {@code booking.response-cache.max-bytes}.
+ */
+@Component
+public class CatalogResponseCache implements MeterBinder {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final AsyncCache<Key, Body> bodies;
+    private final int maxEntryBytes;
+    private final boolean gzip;
+
+    public CatalogResponseCache(@Value("${booking.response-cache.max-bytes:67108864}") long maxBytes,
+                                @Value("${booking.response-cache.max-entry-bytes:262144}") int maxEntryBytes,
+                                @Value("${booking.response-cache.gzip:true}") boolean gzip) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.gzip = gzip;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Body body) -> body.weight())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public boolean isGzipEnabled() {
+        return gzip;
+    }
+
+    // The version must have been read before the data the renderer reads, so the body is never older than it. The
+    // render runs on the calling thread, inside its request's query metrics, while other callers wait on its future.
+    public Body get(Long hotelId, long version, String resource, Renderer renderer) throws IOException {
+        Key key = new Key(hotelId, version, resource);
+        CompletableFuture<Body> rendering = new CompletableFuture<>();
+        CompletableFuture<Body> cached = bodies.get(key, (ignored, executor) -> rendering);
+        if (cached != rendering)
+            return await(cached);
+        try {
+            Body body = render(renderer);
+            if (body.weight() > maxEntryBytes)
+                bodies.asMap().remove(key, rendering);
+            rendering.complete(body);
+            return body;
+        } catch (Throwable failure) {
+            bodies.asMap().remove(key, rendering);
+            rendering.completeExceptionally(failure);
+            throw failure;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, bodies.synchronous(), "catalog.responses");
+    }
+
+    private static Body await(CompletableFuture<Body> rendering) throws IOException {
+        try {
+            return rendering.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof IOException cause)
+                throw cause;
+            if (exception.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw exception;
+        }
+    }
+
+    private Body render(Renderer renderer) throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        renderer.render(plain);
+        byte[] bytes = plain.toByteArray();
+        if (!gzip || bytes.length < GZIP_MIN_BYTES)
+            return new Body(bytes, null);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(bytes);
+        }
+        return new Body(bytes, gzipped.toByteArray());
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    private record Key(Long hotelId, long version, String resource) {
+    }
+
+    public record Body(byte[] plain, byte[] gzipped) {
+        private int weight() {
+            return plain.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.repository.HotelListVersionRepository;
+import com.hotel.api.booking.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version stamps behind the strong ETags of the catalog reads. Every hotel row carries a version that is bumped in
+ * the transaction of each change to the hotel or its rooms, and the hotel list has a single row that moves with any
+ * hotel change. Both live in the database, so every instance sees a change the moment it commits and answers a
+ * matching {@code If-None-Match} the same way; reading a stamp is one primary key lookup.
+ */
+@RequiredArgsConstructor
+@Component
+public class CatalogVersions {
+
+    private final HotelRepository hotelRepo;
+    private final HotelListVersionRepository hotelListVersionRepo;
+
+    public void hotelChanged(Long hotelId) {
+        hotelRepo.bumpCatalogVersion(hotelId);
+        hotelListVersionRepo.bump();
+    }
+
+    public void roomsChanged(Long hotelId) {
+        hotelRepo.bumpCatalogVersion(hotelId);
+    }
+
+    // Take the version before reading the data: a change committing in between then costs one refetch, never a
+    // stale 304. Hotels that don't exist, or are being deleted, get a version no live hotel can have.
+    public long hotelVersion(Long hotelId) {
+        return hotelRepo.findCatalogVersionById(hotelId).orElse(-1L);
+    }
+
+    public long hotelListVersion() {
+        return hotelListVersionRepo.findVersion().orElse(0L);
+    }
+}
@@ -0,0 +1,132 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.dto.response.HotelDeletionResponseDTO;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.model.HotelDeletionJob;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.HotelDeletionJobRepository;
+import com.hotel.api.booking.repository.HotelRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.util.Logger;
+import com.hotel.api.booking.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Purges the rooms and bookings of deleted hotels on a background thread, a batch per transaction, so no single
+ * transaction holds locks on the booking table for long. Progress is written to the job row after every batch.
+ * Unfinished jobs are picked up again on a fixed delay, which also resumes them after a restart. A node claims a job
+ * with a lease it renews after every batch, so only one node purges a hotel at a time; a job whose lease lapsed, because
+ * its node died, is taken over by the next node that looks.
+ */
+@Component
+public class HotelDeletionService {
+
+    private static final Logger logger = new Logger(HotelDeletionService.class.getName());
+
+    private final HotelDeletionJobRepository jobRepo;
+    private final HotelRepository hotelRepo;
+    private final RoomRepository roomRepo;
+    private final BookingRepository bookingRepo;
+    private final UserRepository userRepo;
+    private final int batchSize;
+    private final Duration lease;
+
+    private final Set<Long> runningHotels = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "hotel-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HotelDeletionService(HotelDeletionJobRepository jobRepo,
+                                HotelRepository hotelRepo,
+                                RoomRepository roomRepo,
+                                BookingRepository bookingRepo,
+                                UserRepository userRepo,
+                                @Value("${booking.hotel-deletion.batch-size:1000}") int batchSize,
+                                @Value("${booking.hotel-deletion.lease-ms:300000}") long leaseMillis) {
+        this.jobRepo = jobRepo;
+        this.hotelRepo = hotelRepo;
+        this.roomRepo = roomRepo;
+        this.bookingRepo = bookingRepo;
+        this.userRepo = userRepo;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+    }
+
+    public HotelDeletionResponseDTO schedule(Hotel hotel) {
+        Long hotelId = hotel.getId();
+        HotelDeletionJob job = jobRepo.save(new HotelDeletionJob(hotelId,
+                hotel.getUser() == null ? null : hotel.getUser().getId(), Instant.now()));
+        TransactionUtils.afterCommit(() -> submit(hotelId));
+        return HotelDeletionResponseDTO.of(job);
+    }
+
+    public Optional<HotelDeletionResponseDTO> getProgress(Long hotelId) {
+        return jobRepo.findById(hotelId).map(HotelDeletionResponseDTO::of);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hotel-deletion.resume-ms:60000}")
+    public void resumeUnfinished() {
+        for (Long hotelId : jobRepo.findAllClaimable(Instant.now()))
+            submit(hotelId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void purge(Long hotelId) {
+        try {
+            Instant now = Instant.now();
+            if (jobRepo.claim(hotelId, now, now.plus(lease)) == 0)
+                return;
+            HotelDeletionJob job = jobRepo.findById(hotelId).orElseThrow();
+            for (int deleted; (deleted = bookingRepo.deleteBatchByHotelId(hotelId, batchSize)) > 0; ) {
+                job.setBookingsDeleted(job.getBookingsDeleted() + deleted);
+                job = renew(job);
+            }
+            for (int deleted; (deleted = roomRepo.deleteBatchByHotelId(hotelId, batchSize)) > 0; ) {
+                job.setRoomsDeleted(job.getRoomsDeleted() + deleted);
+                job = renew(job);
+            }
+            hotelRepo.purgeDeletedById(hotelId);
+            if (job.getUserId() != null)
+                userRepo.deleteIfUnreferenced(job.getUserId());
+            job.setCompletedAt(Instant.now());
+            job.setLeaseExpiresAt(null);
+            jobRepo.save(job);
+        } catch (OptimisticLockingFailureException exception) {
+            logger.log(Level.WARNING, "Deletion of hotel " + hotelId + " was taken over by another node");
+        } catch (RuntimeException exception) {
+            logger.logException(exception, "Deletion of hotel " + hotelId + " stopped, will retry");
+        } finally {
+            runningHotels.remove(hotelId);
+        }
+    }
+
+    private HotelDeletionJob renew(HotelDeletionJob job) {
+        job.setLeaseExpiresAt(Instant.now().plus(lease));
+        return jobRepo.save(job);
+    }
+
+    private void submit(Long hotelId) {
+        if (runningHotels.add(hotelId))
+            executor.execute(() -> purge(hotelId));
+    }
+}
@@ -1,41 +1,78 @@
 package com.hotel.api.booking.service;
 
+import com.hotel.api.booking.dto.response.CursorPageResponseDTO;
+import com.hotel.api.booking.dto.response.HotelDeletionResponseDTO;
+import com.hotel.api.booking.dto.response.HotelResponseDTO;
+import com.hotel.api.booking.dto.response.NearbyHotelResponseDTO;
 import com.hotel.api.booking.exception.HotelNotFoundException;
+import com.hotel.api.booking.index.GeoIndex;
+import com.hotel.api.booking.index.IndexedHotel;
+import com.hotel.api.booking.index.OccupancyIndex;
 import com.hotel.api.booking.model.Authority;
 import com.hotel.api.booking.model.Hotel;
 import com.hotel.api.booking.model.User;
-import com.hotel.api.booking.repository.BookingRepository;
 import com.hotel.api.booking.repository.HotelRepository;
-import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.util.CursorUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 @RequiredArgsConstructor
 @Component
+@Timed("booking.service")
 public class HotelService {
 
     private final HotelRepository hotelRepo;
     private final AuthenticationService authService;
-    private final BookingRepository bookingRepo;
-    private final RoomRepository roomRepo;
+    private final OccupancyIndex occupancyIndex;
+    private final GeoIndex geoIndex;
+    private final OwnershipCache ownershipCache;
+    private final HotelDeletionService hotelDeletionService;
+    private final CatalogVersions catalogVersions;
+    private final TokenRevocationService revocationService;
 
-    public Page<Hotel> getAllHotels(PageRequest request) {
-        return hotelRepo.findAll(request);
+    public CursorPageResponseDTO<HotelResponseDTO> getAllHotels(Long after, int size) {
+        return CursorPageResponseDTO.of(hotelRepo.findPageAfter(after, CursorUtils.limit(size)),
+                size, HotelResponseDTO::id);
     }
 
-    public Optional<Hotel> getHotel(Long id) {
-        return hotelRepo.findById(id);
+    public List<Long> getHotelIdsWithin(double minLatitude, double maxLatitude,
+                                        double minLongitude, double maxLongitude, int limit) {
+        return geoIndex.findWithin(minLatitude, maxLatitude, minLongitude, maxLongitude, limit)
+                .stream().map(IndexedHotel::id).toList();
     }
 
-    public void createHotel(Hotel hotel, User hotelStaff) {
-        hotelStaff = authService.signup(hotelStaff.getName(), hotelStaff.getEmail(),
+    public List<HotelResponseDTO> getHotelsWithin(double minLatitude, double maxLatitude,
+                                                  double minLongitude, double maxLongitude, int limit) {
+        return geoIndex.findWithin(minLatitude, maxLatitude, minLongitude, maxLongitude, limit)
+                .stream().map(IndexedHotel::toResponse).toList();
+    }
+
+    public List<NearbyHotelResponseDTO> getNearestHotels(double latitude, double longitude,
+                                                         int limit, double maxDistanceKm) {
+        return geoIndex.findNearest(latitude, longitude, limit, maxDistanceKm);
+    }
+
+    public Optional<HotelResponseDTO> getHotel(Long id) {
+        return hotelRepo.findResponseById(id);
+    }
+
+    public User newStaff(User hotelStaff) {
+        return authService.newUser(hotelStaff.getName(), hotelStaff.getEmail(),
                 hotelStaff.getPassword(), Authority.HOTEL);
+    }
+
+    // The staff user comes from newStaff, already hashed, and is inserted with the hotel through the cascade.
+    @Transactional
+    public void createHotel(Hotel hotel, User hotelStaff) {
         hotel.setUser(hotelStaff);
         hotelRepo.save(hotel);
+        geoIndex.putHotel(hotel);
+        catalogVersions.hotelChanged(hotel.getId());
     }
 
     public void updateHotel(Long id, Hotel sourceHotel) {
@@ -44,12 +81,25 @@ public class HotelService {
         targetHotel.setRoomCount(sourceHotel.getRoomCount());
         targetHotel.setLocation(sourceHotel.getLocation());
         hotelRepo.save(targetHotel);
+        geoIndex.putHotel(targetHotel);
+        catalogVersions.hotelChanged(id);
     }
 
-    public void deleteHotel(Long id) {
+    public HotelDeletionResponseDTO deleteHotel(Long id) {
         Hotel targetHotel = hotelRepo.findById(id).orElseThrow(() -> new HotelNotFoundException(1005));
-        bookingRepo.deleteByHotelId(id);
-        roomRepo.deleteByHotelId(id);
-        hotelRepo.delete(targetHotel);
+        targetHotel.setDeleted(true);
+        hotelRepo.save(targetHotel);
+        occupancyIndex.removeHotel(id);
+        geoIndex.removeHotel(id);
+        ownershipCache.evictHotel(id);
+        catalogVersions.hotelChanged(id);
+        // The staff account goes with the hotel, and its tokens carry the principal, so they are revoked here.
+        if (targetHotel.getUser() != null)
+            revocationService.revoke(targetHotel.getUser().getId());
+        return hotelDeletionService.schedule(targetHotel);
+    }
+
+    public Optional<HotelDeletionResponseDTO> getHotelDeletion(Long id) {
+        return hotelDeletionService.getProgress(id);
     }
 }
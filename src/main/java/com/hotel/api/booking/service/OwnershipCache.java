@@ -0,0 +1,88 @@
+package com.hotel.api.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.api.booking.dto.response.OwnershipCacheStatsResponseDTO;
+import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Remembers who owns a hotel (its staff account) and a booking (the guest who made it) so the role filter does not
+ * join through the user table on every request. Ownership never changes for a live id, so entries only go away
+ * on expiry, eviction or when the hotel or booking is deleted. Booking entries remember their hotel, so deleting a
+ * hotel drops only its own bookings.
+ */
+@Component
+public class OwnershipCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, String> hotelStaff;
+    private final Cache<Long, BookingOwner> bookingOwners;
+
+    public OwnershipCache(UserRepository userRepository,
+                          @Value("${booking.ownership-cache.max-size:10000}") long maxSize,
+                          @Value("${booking.ownership-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.hotelStaff = newCache(maxSize, ttlSeconds);
+        this.bookingOwners = newCache(maxSize, ttlSeconds);
+    }
+
+    public Optional<String> getHotelStaffEmail(Long hotelId) {
+        return lookup(hotelStaff, hotelId, userRepository::findEmailByHotelId);
+    }
+
+    public Optional<String> getBookingOwnerEmail(Long bookingId) {
+        return lookup(bookingOwners, bookingId, key -> userRepository.findOwnerByBookingId(key)
+                .map(owner -> new BookingOwner(owner.getHotelId(), owner.getEmail())))
+                .map(BookingOwner::email);
+    }
+
+    // Hotels are deleted rarely enough that walking the booking entries once per deletion costs nothing noticeable.
+    public void evictHotel(Long hotelId) {
+        TransactionUtils.afterCommit(() -> {
+            hotelStaff.invalidate(hotelId);
+            bookingOwners.asMap().values().removeIf(owner -> owner.hotelId().equals(hotelId));
+        });
+    }
+
+    public void evictBooking(Long bookingId) {
+        TransactionUtils.afterCommit(() -> bookingOwners.invalidate(bookingId));
+    }
+
+    public OwnershipCacheStatsResponseDTO getStats() {
+        return new OwnershipCacheStatsResponseDTO(
+                hotelStaff.stats().hitCount(), hotelStaff.stats().missCount(), hotelStaff.estimatedSize(),
+                bookingOwners.stats().hitCount(), bookingOwners.stats().missCount(), bookingOwners.estimatedSize());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, hotelStaff, "ownership.hotel-staff");
+        CaffeineCacheMetrics.monitor(registry, bookingOwners, "ownership.booking-owners");
+    }
+
+    // Misses are not cached, so an id that does not exist yet is looked up again once it does.
+    private static <V> Optional<V> lookup(Cache<Long, V> cache, Long id, Function<Long, Optional<V>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    private static <V> Cache<Long, V> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private record BookingOwner(Long hotelId, String email) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.dto.response.QueryMetricsResponseDTO;
+import com.hotel.api.booking.util.Logger;
+import com.hotel.api.booking.util.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Statement, row and time totals per endpoint pattern, fed by the query metrics filter once per request. A request
+ * issuing more than {@code booking.query-metrics.warn-statements} statements is logged, as it usually means an N+1.
+ * The same numbers are published per endpoint as {@code booking.query.statements}, {@code booking.query.rows} and
+ * {@code booking.query.time}.
+ */
+@Component
+public class QueryMetrics {
+
+    private static final Logger logger = new Logger(QueryMetrics.class.getName());
+
+    private final Map<String, EndpointQueries> endpoints = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final int warnStatements;
+
+    public QueryMetrics(MeterRegistry registry,
+                        @Value("${booking.query-metrics.warn-statements:25}") int warnStatements) {
+        this.registry = registry;
+        this.warnStatements = warnStatements;
+    }
+
+    public void record(String endpoint, QueryStatistics.Recording recording) {
+        EndpointQueries queries = endpoints.computeIfAbsent(endpoint, key -> new EndpointQueries(registry, key));
+        queries.requests.increment();
+        queries.statements.add(recording.getStatements());
+        queries.maxStatements.accumulate(recording.getStatements());
+        queries.rows.add(recording.getRows());
+        queries.nanos.add(recording.getElapsedNanos());
+        queries.statementSummary.record(recording.getStatements());
+        queries.rowSummary.record(recording.getRows());
+        queries.statementTimer.record(recording.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        if (recording.getStatements() > warnStatements)
+            logger.log(Level.WARNING, endpoint + " issued " + recording.getStatements() + " SQL statements");
+    }
+
+    public List<QueryMetricsResponseDTO> getStats() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparing(QueryMetricsResponseDTO::endpoint))
+                .toList();
+    }
+
+    private static final class EndpointQueries {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final DistributionSummary statementSummary;
+        private final DistributionSummary rowSummary;
+        private final Timer statementTimer;
+
+        private EndpointQueries(MeterRegistry registry, String endpoint) {
+            statementSummary = DistributionSummary.builder("booking.query.statements")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            rowSummary = DistributionSummary.builder("booking.query.rows")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            statementTimer = Timer.builder("booking.query.time")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+        }
+
+        private QueryMetricsResponseDTO toResponse(String endpoint) {
+            return new QueryMetricsResponseDTO(endpoint, requests.sum(), statements.sum(), maxStatements.get(),
+                    rows.sum(), nanos.sum() / 1_000_000.0);
+        }
+    }
+}
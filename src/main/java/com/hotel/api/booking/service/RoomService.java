@@ -1,47 +1,88 @@
 package com.hotel.api.booking.service;
 
+import com.hotel.api.booking.dto.request.RoomInfoDTO;
+import com.hotel.api.booking.dto.response.CursorPageResponseDTO;
+import com.hotel.api.booking.dto.response.HotelAvailabilityResponseDTO;
+import com.hotel.api.booking.dto.response.RoomImportErrorDTO;
+import com.hotel.api.booking.dto.response.RoomImportResponseDTO;
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
 import com.hotel.api.booking.exception.*;
-import com.hotel.api.booking.model.Booking;
+import com.hotel.api.booking.index.IndexedRoom;
+import com.hotel.api.booking.index.OccupancyIndex;
 import com.hotel.api.booking.model.Hotel;
 import com.hotel.api.booking.model.Room;
 import com.hotel.api.booking.model.RoomStatus;
 import com.hotel.api.booking.repository.BookingRepository;
 import com.hotel.api.booking.repository.HotelRepository;
 import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.util.CursorUtils;
 import com.hotel.api.booking.util.GeneralUtils;
-import lombok.RequiredArgsConstructor;
+import com.hotel.api.booking.util.Logger;
+import com.hotel.api.booking.util.RoomImportReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
 import java.sql.Date;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@RequiredArgsConstructor
 @Component
+@Timed("booking.service")
 public class RoomService {
 
+    private static final int IMPORT_BATCH_SIZE = 50;
+    private static final Logger logger = new Logger(RoomService.class.getName());
+
     private final RoomRepository roomRepo;
     private final HotelRepository hotelRepo;
     private final BookingRepository bookingRepo;
+    private final OccupancyIndex occupancyIndex;
+    private final CatalogVersions catalogVersions;
+    private final int maxImportErrors;
+
+    public RoomService(RoomRepository roomRepo,
+                       HotelRepository hotelRepo,
+                       BookingRepository bookingRepo,
+                       OccupancyIndex occupancyIndex,
+                       CatalogVersions catalogVersions,
+                       @Value("${booking.room-import.max-errors:100}") int maxImportErrors) {
+        this.roomRepo = roomRepo;
+        this.hotelRepo = hotelRepo;
+        this.bookingRepo = bookingRepo;
+        this.occupancyIndex = occupancyIndex;
+        this.catalogVersions = catalogVersions;
+        this.maxImportErrors = maxImportErrors;
+    }
+
+    public Stream<RoomResponseDTO> getAllRoomsInHotel(Long hotelId) {
+        return roomRepo.streamAllByHotelId(hotelId);
+    }
 
-    public List<Room> getAllRoomsInHotel(Long hotelId) {
-        return roomRepo.findAllByHotelId(hotelId);
+    public CursorPageResponseDTO<RoomResponseDTO> getRoomsInHotel(Long hotelId, Long after, int size) {
+        return CursorPageResponseDTO.of(roomRepo.findPageByHotelId(hotelId, after, CursorUtils.limit(size)),
+                size, RoomResponseDTO::id);
     }
 
-    public Optional<Room> getRoomDetails(Long hotelId, Long roomId) {
-        return roomRepo.findByRoomIdAndHotelId(hotelId, roomId);
+    public Optional<RoomResponseDTO> getRoomDetails(Long hotelId, Long roomId) {
+        return roomRepo.findResponseByRoomIdAndHotelId(hotelId, roomId);
     }
 
-    public int getRoomCountInHotel(Long hotelId) {
-        return roomRepo.getRoomCountByHotelId(hotelId);
+    // Counters written before the column existed, or rooms inserted by hand, are brought back in line on startup.
+    @PostConstruct
+    public void reconcileRoomCounts() {
+        int reconciled = hotelRepo.reconcileCurrentRoomCounts();
+        if (reconciled > 0)
+            logger.log(Level.INFO, "Reconciled room counters of " + reconciled + " hotels");
     }
 
     public Room createRoom(Room room, Long hotelId) {
         Hotel hotel = hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1104));
-        if (getRoomCountInHotel(hotelId) >= hotel.getRoomCount())
+        if (hotelRepo.reserveRooms(hotelId, 1).isEmpty())
             throw new HotelMaximumRoomCountExceededException(1106);
         room.setHotel(hotel);
         try {
@@ -50,14 +91,74 @@ public class RoomService {
         } catch (DataIntegrityViolationException ignored) {
             throw new RoomAlreadyExistException(1107);
         }
+        occupancyIndex.putRoom(room);
+        catalogVersions.roomsChanged(hotelId);
         return room;
     }
 
+    // The import can never hold more rooms than the hotel's room count, so saved rooms stay in the persistence
+    // context; each batch is flushed as one JDBC batch while the body is still being read. Rows are checked against
+    // the counter read with the hotel, and each batch reserves its rooms before it is saved. Every rejected row is
+    // counted, but only the first few are described so a file of bad rows can't grow the response without bound.
+    public RoomImportResponseDTO importRooms(Long hotelId, Iterator<RoomImportReader.Row> rows) {
+        Hotel hotel = hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1118));
+        Set<Integer> roomNumbers = new HashSet<>(roomRepo.findRoomNumbersByHotelId(hotelId));
+        int capacity = hotel.getRoomCount() - hotel.getCurrentRoomCount();
+        List<RoomImportErrorDTO> errors = new ArrayList<>();
+        List<Room> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int imported = 0;
+        int rejected = 0;
+        while (rows.hasNext()) {
+            RoomImportReader.Row row = rows.next();
+            RoomInfoDTO roomInfo = row.room();
+            Integer roomNumber = roomInfo == null ? null : roomInfo.roomNumber();
+            String error = row.error() != null ? row.error()
+                    : roomNumbers.contains(roomNumber) ? "Room number already exists in the hotel"
+                    : imported + batch.size() >= capacity ? "Hotel at its maximum room count"
+                    : null;
+            if (error != null) {
+                if (rejected++ < maxImportErrors)
+                    errors.add(new RoomImportErrorDTO(row.line(), roomNumber, error));
+            } else {
+                roomNumbers.add(roomNumber);
+                Room room = new Room();
+                GeneralUtils.map(roomInfo, room, false);
+                room.setHotel(hotel);
+                batch.add(room);
+                if (batch.size() == IMPORT_BATCH_SIZE)
+                    imported += saveImportBatch(hotelId, batch);
+            }
+        }
+        imported += saveImportBatch(hotelId, batch);
+        if (imported > 0)
+            catalogVersions.roomsChanged(hotelId);
+        return new RoomImportResponseDTO(imported, rejected, errors);
+    }
+
+    private int saveImportBatch(Long hotelId, List<Room> batch) {
+        if (batch.isEmpty())
+            return 0;
+        if (hotelRepo.reserveRooms(hotelId, batch.size()).isEmpty())
+            throw new HotelMaximumRoomCountExceededException(1121);
+        try {
+            roomRepo.saveAll(batch);
+            roomRepo.flush();
+        } catch (DataIntegrityViolationException ignored) {
+            throw new RoomAlreadyExistException(1119);
+        }
+        batch.forEach(occupancyIndex::putRoom);
+        int saved = batch.size();
+        batch.clear();
+        return saved;
+    }
+
     public void updateRoom(Room room, Long roomId, Long hotelId) {
-        Room targetRoom = getRoomDetails(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1108));
+        Room targetRoom = roomRepo.findByRoomIdAndHotelId(hotelId, roomId).orElseThrow(() -> new RoomNotFoundException(1108));
         hotelRepo.findById(hotelId).orElseThrow(() -> new HotelNotFoundException(1109));
         GeneralUtils.map(room, targetRoom);
         roomRepo.save(targetRoom);
+        occupancyIndex.putRoom(targetRoom);
+        catalogVersions.roomsChanged(hotelId);
     }
 
     public void deleteRoom(Long hotelId, Long roomId) {
@@ -67,18 +168,35 @@ public class RoomService {
             throw new RoomNotFoundInHotelException(1115);
         bookingRepo.deleteByRoomId(roomId);
         roomRepo.deleteByRoomId(targetRoom.getId());
+        hotelRepo.releaseRooms(hotelId, 1);
+        occupancyIndex.removeRoom(targetRoom.getId());
+        catalogVersions.roomsChanged(hotelId);
     }
 
-    public List<Room> getAvailableRooms(Long hotelId, Date checkIn, Date checkOut) {
-        List<Booking> allByHotelIdAndDate = bookingRepo.findAllByHotelIdAndDate(hotelId, checkIn, checkOut);
-        Set<Long> collect = allByHotelIdAndDate
-                .stream().map(booking -> booking.getRoom().getId())
-                .collect(Collectors.toSet());
-        return getAllRoomsInHotel(hotelId)
-                .stream().filter(room -> !collect.contains(room.getId()))
-                .filter(room -> room.getStatus().equals(RoomStatus.AVAILABLE))
+    public List<RoomResponseDTO> getAvailableRooms(Long hotelId, Date checkIn, Date checkOut) {
+        if (occupancyIndex.covers(checkIn))
+            return occupancyIndex.findAvailableRooms(hotelId, checkIn, checkOut);
+        Set<Long> bookedRoomIds = bookingRepo.findBookedRoomIdsByHotelIdsAndDate(List.of(hotelId), checkIn, checkOut);
+        return roomRepo.findAllIndexedRoomsByHotelIds(List.of(hotelId))
+                .stream().filter(room -> !bookedRoomIds.contains(room.id()))
+                .filter(room -> room.status().equals(RoomStatus.AVAILABLE))
+                .sorted(Comparator.comparing(IndexedRoom::id))
+                .map(IndexedRoom::toResponse)
                 .toList();
+    }
 
+    public Stream<HotelAvailabilityResponseDTO> searchAvailableRooms(Collection<Long> hotelIds, Date checkIn, Date checkOut) {
+        if (occupancyIndex.covers(checkIn))
+            return hotelIds.stream().map(hotelId -> new HotelAvailabilityResponseDTO(hotelId,
+                    occupancyIndex.findAvailableRooms(hotelId, checkIn, checkOut)));
+        Set<Long> bookedRoomIds = bookingRepo.findBookedRoomIdsByHotelIdsAndDate(hotelIds, checkIn, checkOut);
+        Map<Long, List<RoomResponseDTO>> availableRooms = roomRepo.findAllIndexedRoomsByHotelIds(hotelIds)
+                .stream().filter(room -> !bookedRoomIds.contains(room.id()))
+                .filter(room -> room.status().equals(RoomStatus.AVAILABLE))
+                .collect(Collectors.groupingBy(IndexedRoom::hotelId,
+                        Collectors.mapping(IndexedRoom::toResponse, Collectors.toList())));
+        return hotelIds.stream().map(hotelId -> new HotelAvailabilityResponseDTO(hotelId,
+                availableRooms.getOrDefault(hotelId, List.of())));
     }
 
 }
@@ -0,0 +1,64 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.exception.UserNotFoundException;
+import com.hotel.api.booking.model.TokenRevocation;
+import com.hotel.api.booking.repository.TokenRevocationRepository;
+import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.util.JwtUtil;
+import com.hotel.api.booking.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps, per user, the instant before which every issued token is rejected. The map is refreshed from the
+ * database on a fixed delay so revocations made on other nodes take effect within one refresh interval.
+ * Only revocations younger than the token lifetime are kept; older ones cannot match a token that is still valid.
+ */
+@RequiredArgsConstructor
+@Component
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository revocationRepo;
+    private final UserRepository userRepo;
+
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${booking.auth.revocation-refresh-ms:30000}")
+    public void refresh() {
+        Instant horizon = Instant.now().minusMillis(JwtUtil.TOKEN_LIFETIME);
+        for (TokenRevocation revocation : revocationRepo.findAllRevokedSince(horizon))
+            remember(revocation.getUserId(), revocation.getRevokedAt());
+        revokedBefore.values().removeIf(revokedAt -> revokedAt.isBefore(horizon));
+    }
+
+    // Token issue times only have second precision, so a token issued within the same second as the
+    // revocation is treated as revoked too.
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (userId == null)
+            return false;
+        Instant revokedAt = revokedBefore.get(userId);
+        return revokedAt != null && (issuedAt == null || !issuedAt.toInstant().isAfter(revokedAt));
+    }
+
+    @Transactional
+    public void revoke(Long userId) {
+        if (!userRepo.existsById(userId))
+            throw new UserNotFoundException(1201);
+        Instant revokedAt = Instant.now();
+        revocationRepo.save(new TokenRevocation(userId, revokedAt));
+        TransactionUtils.afterCommit(() -> remember(userId, revokedAt));
+    }
+
+    private void remember(Long userId, Instant revokedAt) {
+        revokedBefore.merge(userId, revokedAt, (current, update) -> update.isAfter(current) ? update : current);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * Moves log output off the calling thread. Events go into a {@link LogRingBuffer} and a daemon thread formats them
+ * as one JSON object per line before handing them to the java.util.logging logger they were created for. Nothing
+ * blocks when the buffer fills: events below SEVERE are dropped from the high-water mark on, everything else once it
+ * is full, and the writer reports how many it lost. Events the sink fails to take are counted and reported the same
+ * way, never printed to stderr. Stack traces are kept for one exception per code (or per class,
+ * for exceptions without a code) and interval; the rest are logged without one.
+ */
+class AsyncLogWriter {
+
+    static final int BUFFER_SIZE = 8192;
+    static final long STACK_TRACE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final AsyncLogWriter INSTANCE = new AsyncLogWriter(BUFFER_SIZE, STACK_TRACE_INTERVAL_NANOS).start();
+
+    private final LogRingBuffer<LogEvent> buffer;
+    private final long stackTraceIntervalNanos;
+    private final Map<Object, AtomicLong> lastStackTrace = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final java.util.logging.Logger reportSink = java.util.logging.Logger.getLogger(AsyncLogWriter.class.getName());
+    private volatile boolean closing;
+
+    AsyncLogWriter(int bufferSize, long stackTraceIntervalNanos) {
+        this.buffer = new LogRingBuffer<>(bufferSize);
+        this.stackTraceIntervalNanos = stackTraceIntervalNanos;
+    }
+
+    static AsyncLogWriter getInstance() {
+        return INSTANCE;
+    }
+
+    void submit(LogEvent event) {
+        if (!buffer.offer(event, event.level().intValue() >= Level.SEVERE.intValue()))
+            dropped.increment();
+    }
+
+    boolean shouldCaptureStackTrace(Object key) {
+        long now = System.nanoTime();
+        AtomicLong last = lastStackTrace.computeIfAbsent(key, ignored -> new AtomicLong(now - stackTraceIntervalNanos));
+        long previous = last.get();
+        return now - previous >= stackTraceIntervalNanos && last.compareAndSet(previous, now);
+    }
+
+    int drain() {
+        int written = 0;
+        for (LogEvent event = buffer.poll(); event != null; event = buffer.poll()) {
+            try {
+                event.sink().log(event.level(), format(event));
+                written++;
+            } catch (RuntimeException exception) {
+                failed.increment();
+            }
+        }
+        report(dropped, "Dropped %d log events, buffer full");
+        report(failed, "Failed to write %d log events");
+        return written;
+    }
+
+    // A count that cannot be reported either is kept for the next drain, when the sink may have recovered.
+    private void report(LongAdder counter, String message) {
+        long count = counter.sumThenReset();
+        if (count == 0)
+            return;
+        try {
+            reportSink.log(Level.WARNING, format(new LogEvent(reportSink, Level.WARNING, System.currentTimeMillis(),
+                    Thread.currentThread().getName(), message.formatted(count), null, null, null)));
+        } catch (RuntimeException exception) {
+            counter.add(count);
+        }
+    }
+
+    String format(LogEvent event) {
+        StringWriter json = new StringWriter(256);
+        try (JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            generator.writeStartObject();
+            generator.writeStringField("timestamp", Instant.ofEpochMilli(event.timestamp()).toString());
+            generator.writeStringField("level", event.level().getName());
+            generator.writeStringField("logger", event.sink().getName());
+            generator.writeStringField("thread", event.thread());
+            if (event.message() != null)
+                generator.writeStringField("message", event.message());
+            if (event.exception() != null)
+                generator.writeStringField("exception", event.exception());
+            if (event.code() != null)
+                generator.writeNumberField("code", event.code());
+            if (event.stackTrace() != null) {
+                generator.writeArrayFieldStart("stackTrace");
+                for (StackTraceElement element : event.stackTrace().getStackTrace())
+                    generator.writeString(element.toString());
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return json.toString();
+    }
+
+    private AsyncLogWriter start() {
+        Thread writer = new Thread(this::run, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            closing = true;
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }, "async-log-writer-shutdown"));
+        return this;
+    }
+
+    private void run() {
+        while (!closing) {
+            if (drain() == 0)
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        drain();
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotel.api.booking.util;
+
+import com.hotel.api.booking.exception.InvalidPageRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorUtils {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String PREFIX = "id:";
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor, int code) {
+        if (cursor == null || cursor.isBlank())
+            return 0L;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX))
+                throw new InvalidPageRequestException(code);
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidPageRequestException(code);
+        }
+    }
+
+    // Fetches one row past the page so callers can tell whether a next page exists without counting.
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static int pageSize(Integer size, int code) {
+        if (size == null)
+            return DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new InvalidPageRequestException(code);
+        return size;
+    }
+}
@@ -0,0 +1,95 @@
+package com.hotel.api.booking.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Copies same-named fields from a source object to a target object. Field pairs are resolved once per
+ * (source class, target class) and kept as method handles, so a copy is a loop over pre-bound getters and setters.
+ * Fields without a type-compatible counterpart on the target are dropped when the plan is built.
+ */
+public class FieldMapper {
+
+    private static final Logger logger = new Logger("com.hotel.api.booking.util.FieldMapper");
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<Map<Class<?>, FieldCopy[]>> plans = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, FieldCopy[]> computeValue(Class<?> sourceClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public static void map(Object source, Object target, boolean shouldMapId) {
+        FieldCopy[] copies = plans.get(source.getClass())
+                .computeIfAbsent(target.getClass(), targetClass -> plan(source.getClass(), targetClass));
+        try {
+            for (FieldCopy copy : copies) {
+                if (!shouldMapId && copy.id())
+                    continue;
+                Object value = (Object) copy.getter().invokeExact(source);
+                if (value != null)
+                    copy.setter().invokeExact(target, value);
+            }
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static FieldCopy[] plan(Class<?> sourceClass, Class<?> targetClass) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<FieldCopy> copies = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (Field sourceField : sourceClass.getDeclaredFields()) {
+            if (Modifier.isStatic(sourceField.getModifiers()) || sourceField.isSynthetic())
+                continue;
+            Field targetField = findField(targetClass, sourceField.getName());
+            if (targetField == null || Modifier.isStatic(targetField.getModifiers())
+                    || Modifier.isFinal(targetField.getModifiers())
+                    || !wrap(targetField.getType()).isAssignableFrom(wrap(sourceField.getType()))) {
+                skipped.add(sourceField.getName());
+                continue;
+            }
+            try {
+                sourceField.setAccessible(true);
+                targetField.setAccessible(true);
+                copies.add(new FieldCopy(sourceField.getName().equals("id"),
+                        lookup.unreflectGetter(sourceField).asType(GETTER),
+                        lookup.unreflectSetter(targetField).asType(SETTER)));
+            } catch (IllegalAccessException | RuntimeException exception) {
+                logger.logException(exception);
+                skipped.add(sourceField.getName());
+            }
+        }
+        if (!skipped.isEmpty())
+            logger.log(Level.FINE, sourceClass.getSimpleName() + " -> " + targetClass.getSimpleName()
+                    + " leaves out " + skipped);
+        return copies.toArray(FieldCopy[]::new);
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException exception) {
+            return null;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private record FieldCopy(boolean id, MethodHandle getter, MethodHandle setter) {
+    }
+}
@@ -1,38 +1,33 @@
 package com.hotel.api.booking.util;
 
-import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class GeneralUtils {
 
-    private static final Logger logger = new Logger("com.hotel.api.booking.util.GeneralUtils");
-
     public static <T, R> void map(T source, R target) {
-        Arrays.stream(source.getClass().getDeclaredFields())
-                .forEach(field -> mapField(source, target, field)
-                );
+        FieldMapper.map(source, target, true);
     }
 
     public static <T, R> void map(T source, R target, boolean shouldMapId) {
-        if (shouldMapId)
-            map(source, target);
-        else
-            Arrays.stream(source.getClass().getDeclaredFields()).forEach(field -> {
-                if (!field.getName().equals("id"))
-                    mapField(source, target, field);
-            });
+        FieldMapper.map(source, target, shouldMapId);
     }
 
-    private static <T, R> void mapField(T source, R target, Field field) {
+    // Runs check before handing the stream back if the stream turns out to be empty, so a lookup that
+    // distinguishes "nothing found" from "parent missing" only costs an extra query in the empty case.
+    public static <T> Stream<T> checkIfEmpty(Stream<T> stream, Runnable check) {
+        Iterator<T> iterator = stream.iterator();
         try {
-            field.setAccessible(true);
-            Object value = field.get(source);
-            if (value == null) return;
-            Field targetField = target.getClass().getDeclaredField(field.getName());
-            targetField.setAccessible(true);
-            targetField.set(target, value);
-        } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException exception) {
-            logger.logException(exception);
+            if (!iterator.hasNext())
+                check.run();
+        } catch (RuntimeException exception) {
+            stream.close();
+            throw exception;
         }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(stream::close);
     }
 }
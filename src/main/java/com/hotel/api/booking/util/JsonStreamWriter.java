@@ -0,0 +1,99 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of elements straight to the response, one element at a time, so the whole result never sits in
+ * memory. Clients that accept {@code application/x-ndjson} get one JSON document per line; everyone else gets the
+ * usual JSON array, sent in chunks. The body is written on the async request thread, so the elements are fetched
+ * there, inside a read-only transaction that stays open until the last one is written.
+ */
+@Component
+public class JsonStreamWriter {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper mapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JsonStreamWriter(ObjectMapper mapper, PlatformTransactionManager transactionManager) {
+        this.mapper = mapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ResponseEntity<StreamingResponseBody> stream(Supplier<? extends Stream<?>> elements,
+                                                        HttpServletRequest request) {
+        boolean ndjson = acceptsNdjson(request);
+        QueryStatistics.Recording recording = QueryStatistics.current();
+        StreamingResponseBody body = out -> {
+            QueryStatistics.Recording streaming = QueryStatistics.startWithin(recording);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> write(elements.get(), ndjson, out));
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            } finally {
+                streaming.close();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private void write(Stream<?> elements, boolean ndjson, OutputStream out) {
+        try (elements) {
+            if (ndjson)
+                writeNdjson(elements.iterator(), out);
+            else
+                writeArray(elements.iterator(), out);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void writeNdjson(Iterator<?> elements, OutputStream out) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(mapper, out);
+        for (int count = 1; elements.hasNext(); count++) {
+            writer.write(elements.next());
+            if (count % FLUSH_EVERY == 0)
+                writer.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeArray(Iterator<?> elements, OutputStream out) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (int count = 1; elements.hasNext(); count++) {
+                generator.writeObject(elements.next());
+                if (count % FLUSH_EVERY == 0)
+                    generator.flush();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public static boolean acceptsNdjson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+}
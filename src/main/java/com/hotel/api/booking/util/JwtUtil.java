@@ -1,6 +1,12 @@
 package com.hotel.api.booking.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hotel.api.booking.model.Authority;
+import com.hotel.api.booking.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -11,11 +17,44 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 public class JwtUtil {
 
     private static final String SECRET_KEY = "NnhYNlF1UUg1Z1BCcDFkRFBuYmVPdDA1YjFKek9DaFk=";
+    public static final long TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(2);
+    private static final String USER_ID = "uid";
+    private static final String AUTHORITY = "authority";
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    private static final Key SIGN_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SIGN_KEY).build();
+
+    // Claims of tokens that already passed signature and expiry checks, dropped once the token expires.
+    private static final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                    Date expiration = claims.getExpiration();
+                    long remaining = expiration == null ? TOKEN_LIFETIME
+                            : expiration.getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
 
     private final Claims claims;
 
@@ -28,7 +67,27 @@ public class JwtUtil {
     }
 
     public static String generateToken(UserDetails details) {
-        return generateToken(details, new HashMap<>());
+        Map<String, Object> claims = new HashMap<>();
+        if (details instanceof User user && user.getId() != null && user.getAuthority() != null) {
+            claims.put(USER_ID, user.getId());
+            claims.put(AUTHORITY, user.getAuthority().name());
+        }
+        return generateToken(details, claims);
+    }
+
+    // Rebuilds the principal from the token alone; empty for tokens issued before the id and authority claims.
+    public Optional<User> extractPrincipal() {
+        Number userId = extractClaim(claims -> claims.get(USER_ID, Number.class));
+        String authority = extractClaim(claims -> claims.get(AUTHORITY, String.class));
+        if (userId == null || authority == null)
+            return Optional.empty();
+        User user = new User(null, extractUsername(), null, Authority.valueOf(authority));
+        user.setId(userId.longValue());
+        return Optional.of(user);
+    }
+
+    public Date extractIssuedAt() {
+        return extractClaim(Claims::getIssuedAt);
     }
 
     public boolean isTokenValid(UserDetails details) {
@@ -44,31 +103,21 @@ public class JwtUtil {
     }
 
     public static String generateToken(UserDetails details, Map<String, Object> otherClaims) {
-        long TWO_DAYS = 2 * 24 * 60 * 60 * 1000L;
         return Jwts
                 .builder()
                 .setClaims(otherClaims)
                 .setSubject(details.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TWO_DAYS))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_LIFETIME))
+                .signWith(SIGN_KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private static Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     private <T> T extractClaim(Function<Claims, T> claimResolver) {
         return claimResolver.apply(claims);
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignKey())
-                .parseClaimsJws(token)
-                .getBody();
+    private static Claims extractClaims(String token) {
+        return verifiedTokens.get(token, key -> PARSER.parseClaimsJws(key).getBody());
     }
 }
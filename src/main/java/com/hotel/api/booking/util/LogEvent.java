@@ -0,0 +1,13 @@
+package com.hotel.api.booking.util;
+
+import java.util.logging.Level;
+
+record LogEvent(java.util.logging.Logger sink,
+                Level level,
+                long timestamp,
+                String thread,
+                String message,
+                String exception,
+                Integer code,
+                Throwable stackTrace) {
+}
@@ -0,0 +1,60 @@
+package com.hotel.api.booking.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Each slot carries a sequence number that tells
+ * producers whether it is free for the lap they are on, so a full buffer is detected without locking and the offer
+ * simply fails. Once the buffer is past its high-water mark only priority elements are accepted.
+ */
+class LogRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final int highWaterMark;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    LogRingBuffer(int requestedCapacity) {
+        capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        mask = capacity - 1;
+        highWaterMark = capacity - capacity / 4;
+        slots = new Object[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    boolean offer(T element, boolean priority) {
+        while (true) {
+            long position = tail.get();
+            if (!priority && position - head.get() >= highWaterMark)
+                return false;
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available < 0)
+                return false;
+            if (available == 0 && tail.compareAndSet(position, position + 1)) {
+                slots[index] = element;
+                sequences.lazySet(index, position + 1);
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1)
+            return null;
+        T element = (T) slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, position + capacity);
+        head.lazySet(position + 1);
+        return element;
+    }
+}
@@ -2,12 +2,12 @@ package com.hotel.api.booking.util;
 
 import com.hotel.api.booking.exception.ApplicationException;
 
-import java.util.Arrays;
 import java.util.logging.Level;
 
 
 public class Logger {
     private final java.util.logging.Logger logger;
+    private final AsyncLogWriter writer = AsyncLogWriter.getInstance();
 
     public Logger(Object parent) {
         logger = java.util.logging.Logger.getLogger(parent.getClass().getName());
@@ -30,24 +30,23 @@ public class Logger {
     }
 
     public void logException(Level level, String message, Exception exception) {
-        String errorMessage = "Something went wrong: Exception = " +
-                exception.getClass().getName() +
-                "\nStackTrace: \n\t" +
-                Arrays.stream(exception.getStackTrace())
-                        .map(StackTraceElement::toString)
-                        .reduce(((s, s2) -> s + "\n\t" + s2)) +
-                "\nDescription: " + message;
-        if (exception instanceof ApplicationException applicationException) {
-            errorMessage += "\nLocation: " + applicationException.getCode();
-        }
-        logger.log(level, errorMessage);
+        if (!logger.isLoggable(level))
+            return;
+        Integer code = exception instanceof ApplicationException applicationException
+                ? applicationException.getCode() : null;
+        boolean withStackTrace = writer.shouldCaptureStackTrace(code != null ? code : exception.getClass());
+        writer.submit(new LogEvent(logger, level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                message, exception.getClass().getName(), code, withStackTrace ? exception : null));
     }
 
     public void log(String message) {
-        logger.log(Level.INFO, message);
+        log(Level.INFO, message);
     }
 
     public void log(Level level, String message) {
-        logger.log(level, message);
+        if (!logger.isLoggable(level))
+            return;
+        writer.submit(new LogEvent(logger, level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                message, null, null, null));
     }
 }
@@ -0,0 +1,35 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class NdjsonWriter {
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+
+    public NdjsonWriter(ObjectMapper mapper, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        this.writer = mapper.writer();
+        this.out = response.getOutputStream();
+    }
+
+    public NdjsonWriter(ObjectMapper mapper, OutputStream out) {
+        this.writer = mapper.writer();
+        this.out = out;
+    }
+
+    public void write(Object value) throws IOException {
+        out.write(writer.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,94 @@
+package com.hotel.api.booking.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so that every executed statement, its execution time and the rows read from its result sets
+ * are reported to {@link QueryStatistics}. Result sets are only wrapped while a recording is open on the thread.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), null);
+    }
+
+    private static <T> T wrap(Class<T> type, T target, String sql) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, new Handler(target, sql)));
+    }
+
+    private record Handler(Object target, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return target.toString();
+            }
+            if (target instanceof ResultSet) {
+                Object result = call(method, args);
+                if (name.equals("next") && (Boolean) result)
+                    QueryStatistics.row();
+                return result;
+            }
+            if (target instanceof Statement && name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result = call(method, args);
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                QueryStatistics.statement(executed, System.nanoTime() - start);
+                return wrapResultSet(result, executed);
+            }
+            Object result = call(method, args);
+            if (target instanceof Connection && Statement.class.isAssignableFrom(method.getReturnType()))
+                return wrapStatement(method.getReturnType(), result,
+                        args != null && args.length > 0 && args[0] instanceof String text ? text : null);
+            if (target instanceof Statement && name.equals("getResultSet"))
+                return wrapResultSet(result, sql);
+            return result;
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Object wrapStatement(Class<?> type, Object statement, String sql) {
+            return statement == null ? null : wrap((Class<Object>) type, statement, sql);
+        }
+
+        private static Object wrapResultSet(Object result, String sql) {
+            if (result instanceof ResultSet resultSet && QueryStatistics.isRecording())
+                return wrap(ResultSet.class, resultSet, sql);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hotel.api.booking.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread tally of the SQL statements issued through {@link QueryCountingDataSource}. A recording counts
+ * everything executed on its thread until it is closed; recordings nest, and a statement counts towards every
+ * open recording on the thread. Work handed to another thread can keep counting towards the recordings open where
+ * it was handed off with {@link #startWithin(Recording)}.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<Recording> current = new ThreadLocal<>();
+
+    private QueryStatistics() {
+    }
+
+    public static Recording start() {
+        return start(false);
+    }
+
+    public static Recording start(boolean keepStatements) {
+        return open(new Recording(current.get(), current.get(), keepStatements));
+    }
+
+    public static Recording current() {
+        return current.get();
+    }
+
+    public static Recording startWithin(Recording parent) {
+        return open(new Recording(parent, current.get(), false));
+    }
+
+    private static Recording open(Recording recording) {
+        current.set(recording);
+        return recording;
+    }
+
+    static boolean isRecording() {
+        return current.get() != null;
+    }
+
+    static void statement(String sql, long nanos) {
+        for (Recording recording = current.get(); recording != null; recording = recording.parent) {
+            recording.statements++;
+            recording.nanos += nanos;
+            if (recording.sql != null)
+                recording.sql.add(sql);
+        }
+    }
+
+    static void row() {
+        for (Recording recording = current.get(); recording != null; recording = recording.parent)
+            recording.rows++;
+    }
+
+    public static final class Recording implements AutoCloseable {
+        private final Recording parent;
+        private final Recording previous;
+        private final List<String> sql;
+        private long statements;
+        private long rows;
+        private long nanos;
+
+        private Recording(Recording parent, Recording previous, boolean keepStatements) {
+            this.parent = parent;
+            this.previous = previous;
+            this.sql = keepStatements ? new ArrayList<>() : null;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getElapsedNanos() {
+            return nanos;
+        }
+
+        public List<String> getSql() {
+            return sql == null ? List.of() : List.copyOf(sql);
+        }
+
+        @Override
+        public void close() {
+            if (previous == null)
+                current.remove();
+            else
+                current.set(previous);
+        }
+    }
+}
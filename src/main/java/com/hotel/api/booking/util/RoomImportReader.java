@@ -0,0 +1,133 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hotel.api.booking.dto.request.RoomInfoDTO;
+import com.hotel.api.booking.exception.InvalidRoomImportException;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reads {@link RoomInfoDTO} rows from a CSV body (with a {@code roomNumber,type,price,status} header, columns in any
+ * order) or from NDJSON, one line at a time. Rows that do not parse or fail validation are returned with an error
+ * instead of a room, so the caller can report them and carry on with the rest.
+ */
+public class RoomImportReader implements Iterator<RoomImportReader.Row> {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final List<String> CSV_COLUMNS = List.of("roomNumber", "type", "price", "status");
+
+    public record Row(long line, RoomInfoDTO room, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ObjectReader jsonReader;
+    private final Validator validator;
+    private final boolean csv;
+    private Map<String, Integer> columns;
+    private long lineNumber;
+    private Row next;
+
+    public RoomImportReader(InputStream body, boolean csv, ObjectMapper mapper, Validator validator) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.jsonReader = mapper.readerFor(RoomInfoDTO.class);
+        this.validator = validator;
+        this.csv = csv;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null)
+            next = readRow();
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    private Row readRow() {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank())
+                continue;
+            if (csv && columns == null) {
+                columns = readHeader(line);
+                continue;
+            }
+            return parse(line);
+        }
+        return null;
+    }
+
+    private Row parse(String line) {
+        RoomInfoDTO room;
+        try {
+            room = csv ? parseCsv(line) : jsonReader.readValue(line);
+        } catch (JsonProcessingException | IllegalArgumentException exception) {
+            return new Row(lineNumber, null, "Unreadable row");
+        }
+        if (room == null)
+            return new Row(lineNumber, null, "Unreadable row");
+        Set<ConstraintViolation<RoomInfoDTO>> violations = validator.validate(room);
+        if (!violations.isEmpty())
+            return new Row(lineNumber, room, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        return new Row(lineNumber, room, null);
+    }
+
+    private RoomInfoDTO parseCsv(String line) {
+        String[] values = line.split(",", -1);
+        if (values.length != columns.size())
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns");
+        return new RoomInfoDTO(
+                Integer.parseInt(value(values, "roomNumber")),
+                RoomType.valueOf(value(values, "type").toUpperCase()),
+                Double.parseDouble(value(values, "price")),
+                RoomStatus.valueOf(value(values, "status").toUpperCase()));
+    }
+
+    private String value(String[] values, String column) {
+        return values[columns.get(column)].trim();
+    }
+
+    private Map<String, Integer> readHeader(String line) {
+        String[] names = line.split(",", -1);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.length; i++)
+            header.put(names[i].trim(), i);
+        if (!header.keySet().containsAll(CSV_COLUMNS))
+            throw new InvalidRoomImportException(1120);
+        return header;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null)
+                lineNumber++;
+            return line;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hotel.api.booking.controller;
+
+import com.hotel.api.booking.service.CatalogResponseCache;
+import com.hotel.api.booking.service.CatalogVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CatalogResponsesTest {
+
+    private final CatalogVersions catalogVersions = mock(CatalogVersions.class);
+    private final CatalogResponses catalogResponses =
+            new CatalogResponses(catalogVersions, new CatalogResponseCache(1 << 20, 1 << 16, true));
+
+    @Test
+    void shouldAnswerMatchingTagWithNotModified() throws IOException {
+        ResponseEntity<byte[]> first = read(new MockHttpServletRequest("GET", "/"), "{\"id\":1}");
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals("no-cache, private", first.getHeaders().getCacheControl());
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, first.getHeaders().getFirst(HttpHeaders.VARY));
+
+        ResponseEntity<byte[]> second = read(conditional(etag), "{\"id\":1}");
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertNull(second.getBody());
+    }
+
+    @Test
+    void shouldTagANewVersionDifferently() throws IOException {
+        String etag = read(new MockHttpServletRequest("GET", "/"), "{\"id\":1}").getHeaders().getETag();
+        when(catalogVersions.hotelVersion(1L)).thenReturn(1L);
+        ResponseEntity<byte[]> response = read(conditional(etag), "{\"id\":2}");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"id\":2}", text(response.getBody()));
+        assertNotEquals(etag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldSendGzippedBodiesToClientsThatAcceptThem() throws IOException {
+        String body = "[" + "{\"number\":1},".repeat(200) + "{\"number\":1}]";
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        ResponseEntity<byte[]> gzipped = read(request, body);
+        ResponseEntity<byte[]> plain = read(new MockHttpServletRequest("GET", "/"), body);
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, text(new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody())).readAllBytes()));
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, text(plain.getBody()));
+        assertNotEquals(gzipped.getHeaders().getETag(), plain.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldTagEachRepresentationSeparately() {
+        MockHttpServletResponse json = new MockHttpServletResponse();
+        catalogResponses.isHotelUnchanged(1L, "json",
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/"), json));
+
+        MockHttpServletResponse ndjson = new MockHttpServletResponse();
+        assertFalse(catalogResponses.isHotelUnchanged(1L, "ndjson",
+                new ServletWebRequest(conditional(json.getHeader(HttpHeaders.ETAG)), ndjson)));
+        assertNotEquals(json.getHeader(HttpHeaders.ETAG), ndjson.getHeader(HttpHeaders.ETAG));
+    }
+
+    private ResponseEntity<byte[]> read(MockHttpServletRequest request, String body) throws IOException {
+        return catalogResponses.read(1L, "hotel", MediaType.APPLICATION_JSON,
+                out -> out.write(body.getBytes(StandardCharsets.UTF_8)), request);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MockHttpServletRequest conditional(String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return request;
+    }
+}
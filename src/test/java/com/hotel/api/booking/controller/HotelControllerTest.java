@@ -17,6 +17,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -121,8 +122,8 @@ public class HotelControllerTest {
         mockMvc.perform(get("/api/v1/hotels/"))
                 .andExpect(status().isOk())
                 .andDo(result -> {
-                    List res = mapper.readValue(result.getResponse().getContentAsString(), List.class);
-                    res.forEach(Assertions::assertNotNull);
+                    Map res = mapper.readValue(result.getResponse().getContentAsString(), Map.class);
+                    ((List) res.get("content")).forEach(Assertions::assertNotNull);
                 });
     }
 
@@ -181,6 +182,6 @@ public class HotelControllerTest {
             authorities = "ADMIN")
     void adminShouldBeAbleToDeleteHotel() throws Exception {
         mockMvc.perform(delete("/api/v1/hotels/" + hotelId))
-                .andExpect(status().isOk());
+                .andExpect(status().isAccepted());
     }
 }
@@ -8,19 +8,26 @@ import com.hotel.api.booking.dto.response.EntityCreatedResponseDTO;
 import com.hotel.api.booking.model.GeoLocation;
 import com.hotel.api.booking.model.RoomStatus;
 import com.hotel.api.booking.model.RoomType;
+import com.hotel.api.booking.util.QueryBudget;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -98,4 +105,54 @@ public class RoomControllerTest {
                     assertNotEquals(-1, RoomControllerTest.roomId);
                 }).andReturn();
     }
+
+    @Test
+    @Order(3)
+    @WithUserDetails(value = "admin@admin.com", userDetailsServiceBeanName = "userDetailsService")
+    void listingRoomsShouldTakeTheVersionAndThePageQuery() throws Throwable {
+        QueryBudget.assertStatements(2, () -> mockMvc.perform(get("/api/v1/hotels/" + hotelId + "/rooms/"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @Order(4)
+    @WithUserDetails(value = "admin@admin.com", userDetailsServiceBeanName = "userDetailsService")
+    void unchangedRoomsShouldBeAnsweredFromTheVersionAlone() throws Throwable {
+        String etag = mockMvc.perform(get("/api/v1/hotels/" + hotelId + "/rooms/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        QueryBudget.assertStatements(1, () -> mockMvc.perform(get("/api/v1/hotels/" + hotelId + "/rooms/")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    @Order(5)
+    @WithUserDetails(value = "admin@admin.com", userDetailsServiceBeanName = "userDetailsService")
+    void streamingRoomsShouldTakeTheVersionAndTheRoomQuery() throws Throwable {
+        QueryBudget.assertStatements(2, () -> {
+            MvcResult started = mockMvc.perform(get("/api/v1/hotels/" + hotelId + "/rooms/stream")
+                            .header(HttpHeaders.ACCEPT, "application/x-ndjson"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"));
+        });
+    }
+
+    @Test
+    @Order(6)
+    @WithUserDetails(value = "admin@admin.com", userDetailsServiceBeanName = "userDetailsService")
+    void repeatedListingShouldBeServedFromTheCache() throws Throwable {
+        String first = mockMvc.perform(get("/api/v1/hotels/" + hotelId + "/rooms/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        QueryBudget.assertStatements(1, () -> mockMvc.perform(get("/api/v1/hotels/" + hotelId + "/rooms/"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().string(first)));
+    }
 }
@@ -0,0 +1,93 @@
+package com.hotel.api.booking.filter;
+
+import com.hotel.api.booking.exception.handler.AuthenticationExceptionHandler;
+import com.hotel.api.booking.index.GeoIndex;
+import com.hotel.api.booking.index.OccupancyIndex;
+import com.hotel.api.booking.model.Authority;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.model.User;
+import com.hotel.api.booking.repository.HotelRepository;
+import com.hotel.api.booking.repository.TokenRevocationRepository;
+import com.hotel.api.booking.repository.UserRepository;
+import com.hotel.api.booking.service.*;
+import com.hotel.api.booking.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private final HotelRepository hotelRepo = mock(HotelRepository.class);
+    private final UserRepository userRepo = mock(UserRepository.class);
+    private final TokenRevocationService revocationService =
+            new TokenRevocationService(mock(TokenRevocationRepository.class), userRepo);
+    private final HotelService hotelService = new HotelService(hotelRepo, mock(AuthenticationService.class),
+            mock(OccupancyIndex.class), mock(GeoIndex.class), mock(OwnershipCache.class),
+            mock(HotelDeletionService.class), mock(CatalogVersions.class), revocationService);
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setup() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("authenticationExceptionHandler", AuthenticationExceptionHandler.class);
+        context.refresh();
+        ExceptionHandlerExceptionResolver exceptionResolver = new ExceptionHandlerExceptionResolver();
+        exceptionResolver.getMessageConverters().add(new MappingJackson2HttpMessageConverter());
+        exceptionResolver.setApplicationContext(context);
+        exceptionResolver.afterPropertiesSet();
+        filter = new JwtAuthenticationFilter(mock(UserDetailsService.class), revocationService, new RouteClassifier(),
+                new SecurityFilterMetrics(new SimpleMeterRegistry()), exceptionResolver);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectTheStaffTokenOnceTheirHotelIsDeleted() throws Exception {
+        User staff = new User("Staff", "staff@hotel.com", "secret", Authority.HOTEL);
+        staff.setId(5L);
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setUser(staff);
+        when(hotelRepo.findById(1L)).thenReturn(Optional.of(hotel));
+        when(userRepo.existsById(5L)).thenReturn(true);
+        String token = JwtUtil.generateToken(staff);
+
+        FilterChain before = mock(FilterChain.class);
+        assertEquals(200, listBookings(token, before).getStatus());
+        verify(before).doFilter(any(), any());
+        SecurityContextHolder.clearContext();
+
+        hotelService.deleteHotel(1L);
+
+        FilterChain after = mock(FilterChain.class);
+        assertEquals(401, listBookings(token, after).getStatus());
+        verifyNoInteractions(after);
+    }
+
+    private MockHttpServletResponse listBookings(String token, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/hotels/2/bookings");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
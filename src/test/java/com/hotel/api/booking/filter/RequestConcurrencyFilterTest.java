@@ -0,0 +1,75 @@
+package com.hotel.api.booking.filter;
+
+import com.hotel.api.booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RequestConcurrencyFilterTest {
+
+    @Test
+    void shouldTurnAwayRequestsOverTheLimitAndAdmitThemOnceASlotFrees() throws Exception {
+        HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestConcurrencyFilter filter = new RequestConcurrencyFilter(registry, 1, 50, exceptionResolver);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/hotels/"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            entered.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException exception) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                return null;
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            assertEquals(1, registry.get("booking.requests.active").gauge().value());
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/hotels/"), new MockHttpServletResponse(),
+                    (request, response) -> fail("Request over the limit reached the chain"));
+            verify(exceptionResolver).resolveException(any(), any(), isNull(),
+                    argThat(exception -> exception instanceof TooManyRequestsException tooMany
+                            && tooMany.getCode() == 1404));
+
+            release.countDown();
+        }
+        boolean[] admitted = {false};
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/hotels/"), new MockHttpServletResponse(),
+                (request, response) -> admitted[0] = true);
+        assertTrue(admitted[0]);
+        assertEquals(0, registry.get("booking.requests.active").gauge().value());
+    }
+
+    @Test
+    void shouldHoldTheSlotUntilAStreamedResponseCompletes() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestConcurrencyFilter filter = new RequestConcurrencyFilter(registry, 1, 50,
+                mock(HandlerExceptionResolver.class));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/hotels/1/rooms/stream");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> servletRequest.startAsync());
+        assertEquals(1, registry.get("booking.requests.active").gauge().value());
+
+        request.getAsyncContext().complete();
+        assertEquals(0, registry.get("booking.requests.active").gauge().value());
+    }
+}
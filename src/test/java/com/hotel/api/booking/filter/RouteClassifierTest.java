@@ -0,0 +1,72 @@
+package com.hotel.api.booking.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouteClassifierTest {
+
+    private final RouteClassifier classifier = new RouteClassifier();
+
+    @Test
+    void shouldRecognisePublicEndpoints() {
+        assertTrue(classifier.classify("/api/v1/users/login").isPublic());
+        assertTrue(classifier.classify("/api/v1/users/sign-up").isPublic());
+        assertTrue(classifier.classify("/swagger-ui/index.html").isPublic());
+        assertTrue(classifier.classify("/v3/api-docs").isPublic());
+        assertTrue(classifier.classify("/v3/api-docs/swagger-config").isPublic());
+        assertTrue(classifier.classify("/actuator/prometheus").isPublic());
+        assertFalse(classifier.classify("/actuator/env").isPublic());
+        assertFalse(classifier.classify("/api/v1/users/1/revoke-tokens").isPublic());
+        assertFalse(classifier.classify("/api/v1/hotels/1/swagger-ui").isPublic());
+    }
+
+    @Test
+    void shouldExtractIdsFromOwnedRoutes() {
+        assertEquals(new Route(Route.Kind.HOTEL, 7L, null, null), classifier.classify("/api/v1/hotels/7"));
+        assertEquals(new Route(Route.Kind.ROOM, 7L, null, null), classifier.classify("/api/v1/hotels/7/rooms/"));
+        assertEquals(new Route(Route.Kind.ROOM, 7L, 12L, null), classifier.classify("/api/v1/hotels/7/rooms/12"));
+        assertEquals(new Route(Route.Kind.ROOM, 7L, null, null), classifier.classify("/api/v1/hotels/7/rooms/import"));
+        assertEquals(new Route(Route.Kind.BOOKING, 7L, 12L, null),
+                classifier.classify("/api/v1/hotels/7/rooms/12/bookings/"));
+        assertEquals(new Route(Route.Kind.BOOKING, 7L, 12L, 30L),
+                classifier.classify("/api/v1/hotels/7/rooms/12/bookings/30"));
+        assertEquals(new Route(Route.Kind.BOOKING, 7L, 12L, null),
+                classifier.classify("/api/v1/hotels/7/rooms/12/bookings/stream"));
+    }
+
+    @Test
+    void shouldLeaveOtherPathsUnclassified() {
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/"));
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/nearby"));
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/7/"));
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/7/rooms"));
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/7/rooms/available"));
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/7/rooms/12/bookings"));
+        assertEquals(Route.OTHER, classifier.classify("/api/v1/hotels/99999999999999999999"));
+        assertEquals(Route.OTHER, classifier.classify("/"));
+    }
+
+    @Test
+    void shouldOnlyGuardOwnedMethods() {
+        Route hotel = classifier.classify("/api/v1/hotels/7");
+        Route booking = classifier.classify("/api/v1/hotels/7/rooms/12/bookings/30");
+
+        assertFalse(hotel.requiresOwnership("GET"));
+        assertTrue(hotel.requiresOwnership("DELETE"));
+        assertTrue(booking.requiresOwnership("GET"));
+        assertFalse(booking.requiresOwnership("POST"));
+    }
+
+    @Test
+    void shouldClassifyRequestOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/hotels/7");
+
+        Route route = classifier.classify(request);
+        request.setRequestURI("/api/v1/users/login");
+
+        assertSame(route, classifier.classify(request));
+        assertSame(route, request.getAttribute(RouteClassifier.ROUTE_ATTRIBUTE));
+    }
+}
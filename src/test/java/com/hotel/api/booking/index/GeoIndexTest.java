@@ -0,0 +1,132 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.NearbyHotelResponseDTO;
+import com.hotel.api.booking.model.GeoLocation;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GeoIndexTest {
+
+    private final HotelRepository hotelRepo = mock(HotelRepository.class);
+    private GeoIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new GeoIndex(hotelRepo, 0.25);
+        index.seed();
+        index.putHotel(hotel(1L, 12.9716, 77.5946));   // Bengaluru
+        index.putHotel(hotel(2L, 13.0827, 80.2707));   // Chennai
+        index.putHotel(hotel(3L, 19.0760, 72.8777));   // Mumbai
+        index.putHotel(hotel(4L, 12.9352, 77.6245));   // Koramangala
+        index.putHotel(hotel(5L, -17.7134, 178.0650)); // Fiji, west of the antimeridian
+        index.putHotel(hotel(6L, -16.5000, -179.9000)); // east of the antimeridian
+    }
+
+    @Test
+    void shouldReturnNearestHotelsInDistanceOrder() {
+        List<NearbyHotelResponseDTO> nearest = index.findNearest(12.97, 77.59, 3, Double.MAX_VALUE);
+
+        assertEquals(List.of(1L, 4L, 2L), nearest.stream().map(hotel -> hotel.hotel().id()).toList());
+        assertTrue(nearest.get(0).distanceKm() < 1);
+    }
+
+    @Test
+    void shouldRespectRadius() {
+        List<NearbyHotelResponseDTO> nearest = index.findNearest(12.97, 77.59, 10, 50);
+
+        assertEquals(List.of(1L, 4L), nearest.stream().map(hotel -> hotel.hotel().id()).toList());
+    }
+
+    @Test
+    void shouldFindNeighboursAcrossTheAntimeridian() {
+        List<NearbyHotelResponseDTO> nearest = index.findNearest(-16.6, 179.95, 1, 100);
+
+        assertEquals(6L, nearest.get(0).hotel().id());
+    }
+
+    @Test
+    void shouldListHotelsWithinBoundingBox() {
+        List<Long> ids = index.findWithin(12, 14, 77, 81, 10).stream().map(IndexedHotel::id).toList();
+        List<Long> wrapped = index.findWithin(-20, -15, 170, -170, 10).stream().map(IndexedHotel::id).toList();
+
+        assertEquals(List.of(1L, 2L, 4L), ids);
+        assertEquals(List.of(5L, 6L), wrapped);
+    }
+
+    @Test
+    void shouldMoveAndRemoveHotels() {
+        index.putHotel(hotel(3L, 12.98, 77.60));
+        index.removeHotel(1L);
+
+        List<NearbyHotelResponseDTO> nearest = index.findNearest(12.97, 77.59, 2, Double.MAX_VALUE);
+
+        assertEquals(List.of(3L, 4L), nearest.stream().map(hotel -> hotel.hotel().id()).toList());
+        assertTrue(index.findWithin(18, 20, 72, 74, 10).isEmpty());
+    }
+
+    @Test
+    void shouldMatchBruteForceOnRandomHotels() {
+        Random random = new Random(42);
+        GeoIndex randomIndex = new GeoIndex(mock(HotelRepository.class), 0.25);
+        List<Hotel> hotels = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            Hotel hotel = hotel(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            hotels.add(hotel);
+            randomIndex.putHotel(hotel);
+        }
+        for (int query = 0; query < 50; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            List<Long> expected = hotels.stream()
+                    .sorted(Comparator.comparingDouble(hotel -> GeoIndex.distanceKm(latitude, longitude,
+                            hotel.getLocation().getLatitude(), hotel.getLocation().getLongitude())))
+                    .limit(5)
+                    .map(Hotel::getId)
+                    .toList();
+
+            List<Long> actual = randomIndex.findNearest(latitude, longitude, 5, Double.MAX_VALUE).stream()
+                    .map(hotel -> hotel.hotel().id())
+                    .toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldPickUpHotelsChangedOnOtherNodesOnRefresh() {
+        when(hotelRepo.findAllIndexedHotels()).thenReturn(List.of(
+                new IndexedHotel(1L, "Hotel 1", 10, 28.6139, 77.2090),    // moved to Delhi
+                new IndexedHotel(7L, "Hotel 7", 10, 12.9700, 77.5900)));  // created elsewhere
+        index.seed();
+
+        assertEquals(List.of(7L), index.findNearest(12.97, 77.59, 5, 20).stream()
+                .map(hotel -> hotel.hotel().id()).toList());
+        assertEquals(List.of(1L), index.findWithin(28, 29, 77, 78, 10).stream().map(IndexedHotel::id).toList());
+    }
+
+    @Test
+    void shouldKeepHotelsCreatedLocallyWhileRefreshing() {
+        when(hotelRepo.findAllIndexedHotels()).thenAnswer(invocation -> {
+            index.putHotel(hotel(8L, 12.9800, 77.6000));
+            return List.of();
+        });
+        index.seed();
+
+        assertEquals(List.of(8L), index.findWithin(12, 13, 77, 78, 10).stream().map(IndexedHotel::id).toList());
+    }
+
+    private static Hotel hotel(Long id, double latitude, double longitude) {
+        GeoLocation location = new GeoLocation();
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return new Hotel(id, "Hotel " + id, 10, location, null, new HashSet<>(), new HashSet<>());
+    }
+}
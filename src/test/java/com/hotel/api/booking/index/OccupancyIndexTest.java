@@ -0,0 +1,127 @@
+package com.hotel.api.booking.index;
+
+import com.hotel.api.booking.dto.response.RoomResponseDTO;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.model.Room;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OccupancyIndexTest {
+
+    private final RoomRepository roomRepo = mock(RoomRepository.class);
+    private final BookingRepository bookingRepo = mock(BookingRepository.class);
+    private OccupancyIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new OccupancyIndex(roomRepo, bookingRepo, true);
+        index.seed();
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        index.putRoom(new Room(10L, 101, RoomType.SINGLE, 1000, RoomStatus.AVAILABLE, hotel, new HashSet<>()));
+        index.putRoom(new Room(11L, 102, RoomType.DOUBLE, 2000, RoomStatus.AVAILABLE, hotel, new HashSet<>()));
+        index.putRoom(new Room(12L, 103, RoomType.DOUBLE, 2000, RoomStatus.UNAVAILABLE, hotel, new HashSet<>()));
+    }
+
+    @Test
+    void shouldListAllAvailableRoomsWhenNothingIsBooked() {
+        List<Long> rooms = availableRoomIds(day(5), day(8));
+
+        assertEquals(List.of(10L, 11L), rooms);
+    }
+
+    @Test
+    void shouldExcludeRoomsWithOverlappingBookings() {
+        index.putBooking(10L, 100L, day(5), day(8));
+
+        assertEquals(List.of(11L), availableRoomIds(day(7), day(9)));
+        assertEquals(List.of(11L), availableRoomIds(day(8), day(9)));
+        assertEquals(List.of(10L, 11L), availableRoomIds(day(9), day(12)));
+    }
+
+    @Test
+    void shouldFreeRoomWhenBookingIsRemovedOrMoved() {
+        index.putBooking(10L, 100L, day(5), day(8));
+        index.removeBooking(10L, 100L);
+        assertEquals(List.of(10L, 11L), availableRoomIds(day(5), day(8)));
+
+        index.putBooking(10L, 100L, day(5), day(8));
+        index.putBooking(10L, 100L, day(20), day(22));
+        assertEquals(List.of(10L, 11L), availableRoomIds(day(5), day(8)));
+        assertEquals(List.of(11L), availableRoomIds(day(21), day(21)));
+    }
+
+    @Test
+    void shouldForgetRemovedRoomsAndHotels() {
+        index.removeRoom(11L);
+        assertEquals(List.of(10L), availableRoomIds(day(5), day(8)));
+
+        index.removeHotel(1L);
+        assertTrue(availableRoomIds(day(5), day(8)).isEmpty());
+    }
+
+    @Test
+    void shouldNotCoverDatesBeforeIndexOrigin() {
+        assertTrue(index.covers(day(0)));
+        assertFalse(index.covers(day(-30)));
+    }
+
+    @Test
+    void shouldPickUpBookingsMadeAndCancelledOnOtherNodesOnRefresh() {
+        when(roomRepo.findAllIndexedRooms()).thenReturn(List.of(
+                new IndexedRoom(1L, 10L, 101, RoomType.SINGLE, 1000, RoomStatus.AVAILABLE),
+                new IndexedRoom(1L, 11L, 102, RoomType.DOUBLE, 2000, RoomStatus.AVAILABLE)));
+        when(bookingRepo.findAllStaysEndingAfter(any()))
+                .thenReturn(List.of(new BookingStay(100L, 10L, day(5), day(8))));
+        index.seed();
+        assertEquals(List.of(11L), availableRoomIds(day(5), day(8)));
+
+        when(bookingRepo.findAllStaysEndingAfter(any())).thenReturn(List.of());
+        index.seed();
+        assertEquals(List.of(10L, 11L), availableRoomIds(day(5), day(8)));
+    }
+
+    @Test
+    void shouldKeepLocalWritesCommittedWhileRefreshing() {
+        when(roomRepo.findAllIndexedRooms()).thenReturn(List.of(
+                new IndexedRoom(1L, 10L, 101, RoomType.SINGLE, 1000, RoomStatus.AVAILABLE)));
+        when(bookingRepo.findAllStaysEndingAfter(any())).thenAnswer(invocation -> {
+            index.putBooking(10L, 100L, day(5), day(8));
+            return List.of();
+        });
+        index.seed();
+
+        assertTrue(availableRoomIds(day(5), day(8)).isEmpty());
+    }
+
+    @Test
+    void shouldKeepTheCurrentSnapshotWhenRefreshFails() {
+        index.putBooking(10L, 100L, day(5), day(8));
+        when(roomRepo.findAllIndexedRooms()).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(IllegalStateException.class, index::seed);
+        assertEquals(List.of(11L), availableRoomIds(day(5), day(8)));
+    }
+
+    private List<Long> availableRoomIds(Date checkIn, Date checkOut) {
+        return index.findAvailableRooms(1L, checkIn, checkOut).stream().map(RoomResponseDTO::id).toList();
+    }
+
+    private static Date day(int offset) {
+        return Date.valueOf(LocalDate.now().plusDays(offset));
+    }
+}
@@ -0,0 +1,53 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.exception.UserAlreadyExistException;
+import com.hotel.api.booking.model.Authority;
+import com.hotel.api.booking.model.User;
+import com.hotel.api.booking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AuthenticationServiceTest {
+
+    private final UserRepository userRepo = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final AuthenticationService authService =
+            new AuthenticationService(mock(AuthenticationManager.class), userRepo, passwordEncoder);
+
+    @Test
+    public void shouldSaveTheSignedUpUserWithTheHashedPassword() {
+        when(passwordEncoder.encode("secret")).thenReturn("hashed");
+        when(userRepo.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User user = authService.signup("Asha", "asha@example.com", "secret", Authority.USER);
+
+        assertEquals("hashed", user.getPassword());
+        verify(userRepo).saveAndFlush(user);
+    }
+
+    @Test
+    public void shouldNotHashThePasswordOfAnAlreadyRegisteredEmail() {
+        when(userRepo.existsByEmail("asha@example.com")).thenReturn(true);
+
+        assertThrows(UserAlreadyExistException.class,
+                () -> authService.signup("Asha", "asha@example.com", "secret", Authority.USER));
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void shouldHashANewStaffUserWithoutSavingIt() {
+        when(passwordEncoder.encode("secret")).thenReturn("hashed");
+
+        User staff = authService.newUser("Desk", "desk@example.com", "secret", Authority.HOTEL);
+
+        assertEquals("hashed", staff.getPassword());
+        verify(userRepo, never()).saveAndFlush(any());
+        verify(userRepo, never()).save(any());
+    }
+}
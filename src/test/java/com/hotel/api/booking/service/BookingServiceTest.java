@@ -0,0 +1,111 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.exception.RoomAlreadyBookedException;
+import com.hotel.api.booking.exception.RoomNotFoundException;
+import com.hotel.api.booking.index.OccupancyIndex;
+import com.hotel.api.booking.model.*;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.HotelRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BookingServiceTest {
+
+    private BookingRepository bookingRepo;
+    private RoomRepository roomRepo;
+    private HotelRepository hotelRepo;
+    private BookingService bookingService;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Hotel hotel = new Hotel(1L, "Taj hotel", 100, new GeoLocation(), null, new HashSet<>(), new HashSet<>());
+    private final Booking stay = new Booking(null, "Conference", new ContactInfo("Kochi", 9876543210L), null, null,
+            null, Date.valueOf(LocalDate.now().plusDays(10)), Date.valueOf(LocalDate.now().plusDays(12)));
+
+    @BeforeEach
+    void setup() {
+        bookingRepo = mock(BookingRepository.class);
+        roomRepo = mock(RoomRepository.class);
+        hotelRepo = mock(HotelRepository.class);
+        UserRepository userRepo = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        bookingService = new BookingService(bookingRepo, roomRepo, hotelRepo, userRepo, mock(OccupancyIndex.class),
+                mock(BookingAdmissionService.class), mock(OwnershipCache.class),
+                new BookingMetrics(meterRegistry));
+
+        User guest = new User("Guest", "guest@mail.com", "secret", Authority.USER);
+        guest.setId(5L);
+        when(userRepo.getReferenceById(5L)).thenReturn(guest);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(guest, null, guest.getAuthorities()));
+        when(hotelRepo.findById(1L)).thenReturn(Optional.of(hotel));
+        when(bookingRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldBookEveryRequestedRoomInOneBatch() {
+        when(roomRepo.findAllByRoomIdsAndHotelId(eq(1L), anyCollection())).thenReturn(List.of(room(12L), room(11L)));
+        when(bookingRepo.findBookedRoomIdsByRoomIdsAndDate(anyCollection(), any(), any())).thenReturn(Set.of());
+
+        List<Booking> bookings = bookingService.createBookings(stay, 1L, List.of(12L, 11L, 12L));
+
+        assertEquals(List.of(11L, 12L), bookings.stream().map(booking -> booking.getRoom().getId()).toList());
+        assertTrue(bookings.stream().allMatch(booking -> booking.getHotel() == hotel
+                && booking.getUser().getId() == 5L && booking.getCheckIn().equals(stay.getCheckIn())));
+        verify(bookingRepo, times(1)).saveAll(anyList());
+        verify(bookingRepo, never()).save(any());
+        assertEquals(2, admissions("created", "none"));
+    }
+
+    @Test
+    void shouldBookNothingWhenOneRoomIsTaken() {
+        when(roomRepo.findAllByRoomIdsAndHotelId(eq(1L), anyCollection())).thenReturn(List.of(room(11L), room(12L)));
+        when(bookingRepo.findBookedRoomIdsByRoomIdsAndDate(anyCollection(), any(), any())).thenReturn(Set.of(12L));
+
+        RoomAlreadyBookedException exception = assertThrows(RoomAlreadyBookedException.class,
+                () -> bookingService.createBookings(stay, 1L, List.of(11L, 12L)));
+        assertThrows(RoomAlreadyBookedException.class, () -> bookingService.createBookings(stay, 1L, List.of(11L, 12L)));
+
+        assertEquals(1338, exception.getCode());
+        verify(bookingRepo, never()).saveAll(anyList());
+        assertEquals(2, admissions("conflict", "1338"));
+        assertEquals(0, admissions("created", "none"));
+    }
+
+    @Test
+    void shouldRejectRoomsOfAnotherHotel() {
+        when(roomRepo.findAllByRoomIdsAndHotelId(eq(1L), anyCollection())).thenReturn(List.of(room(11L)));
+
+        assertThrows(RoomNotFoundException.class, () -> bookingService.createBookings(stay, 1L, List.of(11L, 99L)));
+        verify(bookingRepo, never()).saveAll(anyList());
+    }
+
+    private double admissions(String outcome, String code) {
+        return meterRegistry.get("booking.admissions").tag("outcome", outcome).tag("code", code).counter().count();
+    }
+
+    private Room room(Long id) {
+        return new Room(id, id.intValue(), RoomType.SINGLE, 1000, RoomStatus.AVAILABLE, hotel, new HashSet<>());
+    }
+}
@@ -0,0 +1,110 @@
+package com.hotel.api.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogResponseCacheTest {
+
+    private final CatalogResponseCache responseCache = new CatalogResponseCache(1 << 20, 4096, true);
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void shouldServeRepeatedReadsWithoutRendering() throws IOException {
+        read(0, "{\"id\":1}");
+        CatalogResponseCache.Body second = read(0, "{\"id\":2}");
+
+        assertEquals(1, renders.get());
+        assertEquals("{\"id\":1}", new String(second.plain(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldRenderAgainForANewVersion() throws IOException {
+        read(0, "{\"id\":1}");
+        CatalogResponseCache.Body body = read(1, "{\"id\":2}");
+
+        assertEquals(2, renders.get());
+        assertEquals("{\"id\":2}", new String(body.plain(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepAGzippedCopyOfLargerBodies() throws IOException {
+        String large = "[" + "{\"number\":1},".repeat(200) + "{\"number\":1}]";
+        CatalogResponseCache.Body body = read(0, large);
+
+        assertEquals(large, new String(new GZIPInputStream(new ByteArrayInputStream(body.gzipped()))
+                .readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(responseCache.get(2L, 0, "hotel", out -> out.write('1')).gzipped());
+    }
+
+    @Test
+    void shouldServeButNotStoreBodiesOverTheEntryLimit() throws IOException {
+        String huge = "[" + "\"x\",".repeat(4096) + "\"x\"]";
+
+        assertEquals(huge, new String(read(0, huge).plain(), StandardCharsets.UTF_8));
+        read(0, huge);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void shouldRenderOnceForConcurrentMisses() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<CatalogResponseCache.Body> first = CompletableFuture.supplyAsync(() -> get(out -> {
+            renders.incrementAndGet();
+            rendering.countDown();
+            await(release);
+            out.write('1');
+        }));
+        rendering.await();
+        CompletableFuture<CatalogResponseCache.Body> second = CompletableFuture.supplyAsync(() -> get(out -> {
+            renders.incrementAndGet();
+            out.write('2');
+        }));
+        release.countDown();
+
+        assertSame(first.get(), second.get());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void shouldNotKeepFailedRenders() throws IOException {
+        assertThrows(IllegalStateException.class, () -> responseCache.get(1L, 0, "hotel", out -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals("{}", new String(read(0, "{}").plain(), StandardCharsets.UTF_8));
+    }
+
+    private CatalogResponseCache.Body read(long version, String body) throws IOException {
+        return responseCache.get(1L, version, "hotel", out -> {
+            renders.incrementAndGet();
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    private CatalogResponseCache.Body get(CatalogResponseCache.Renderer renderer) {
+        try {
+            return responseCache.get(1L, 0, "hotel", renderer);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
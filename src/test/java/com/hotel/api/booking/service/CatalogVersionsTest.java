@@ -0,0 +1,43 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.repository.HotelListVersionRepository;
+import com.hotel.api.booking.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class CatalogVersionsTest {
+
+    private final HotelRepository hotelRepo = mock(HotelRepository.class);
+    private final HotelListVersionRepository hotelListVersionRepo = mock(HotelListVersionRepository.class);
+    private final CatalogVersions catalogVersions = new CatalogVersions(hotelRepo, hotelListVersionRepo);
+
+    @Test
+    void shouldMoveOnlyTheChangedHotelOnRoomChanges() {
+        catalogVersions.roomsChanged(1L);
+
+        verify(hotelRepo).bumpCatalogVersion(1L);
+        verify(hotelListVersionRepo, never()).bump();
+    }
+
+    @Test
+    void shouldMoveTheHotelAndTheListOnHotelChanges() {
+        catalogVersions.hotelChanged(2L);
+
+        verify(hotelRepo).bumpCatalogVersion(2L);
+        verify(hotelListVersionRepo).bump();
+    }
+
+    @Test
+    void shouldGiveMissingHotelsAVersionNoHotelHas() {
+        when(hotelRepo.findCatalogVersionById(1L)).thenReturn(Optional.of(0L));
+        when(hotelRepo.findCatalogVersionById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(0, catalogVersions.hotelVersion(1L));
+        assertEquals(-1, catalogVersions.hotelVersion(2L));
+        assertEquals(0, catalogVersions.hotelListVersion());
+    }
+}
@@ -79,4 +79,31 @@ public class JwtServiceTest {
 
         assertThrows(ExpiredJwtException.class, executable);
     }
+
+    @Test
+    public void shouldStillRejectTamperedCopyOfVerifiedToken() {
+        User user = new User("test121", "test@admin.com", "test123", Authority.USER);
+        String token = JwtUtil.generateToken(user);
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + parts[2].substring(0, parts[2].length() - 4) + "AAAA";
+
+        JwtUtil first = new JwtUtil(token);
+        JwtUtil second = new JwtUtil(token);
+
+        assertTrue(first.isTokenValid(user));
+        assertTrue(second.isTokenValid(user));
+        assertThrows(SignatureException.class, () -> new JwtUtil(tampered));
+    }
+
+    @Test
+    public void shouldRebuildPrincipalFromTokenClaims() {
+        User user = new User("test121", "test@admin.com", "test123", Authority.HOTEL);
+        user.setId(42L);
+
+        User principal = new JwtUtil(JwtUtil.generateToken(user)).extractPrincipal().orElseThrow();
+
+        assertEquals("User id should travel in the token", 42L, principal.getId());
+        assertEquals("Email should travel in the token", user.getEmail(), principal.getEmail());
+        assertEquals("Authority should travel in the token", Authority.HOTEL, principal.getAuthority());
+    }
 }
@@ -0,0 +1,82 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class OwnershipCacheTest {
+
+    private UserRepository userRepository;
+    private OwnershipCache ownershipCache;
+
+    @BeforeEach
+    void setup() {
+        userRepository = mock(UserRepository.class);
+        ownershipCache = new OwnershipCache(userRepository, 100, 600);
+    }
+
+    @Test
+    void shouldQueryOwnerOnlyOnceWhileCached() {
+        when(userRepository.findEmailByHotelId(1L)).thenReturn(Optional.of("staff@hotel.com"));
+
+        ownershipCache.getHotelStaffEmail(1L);
+        ownershipCache.getHotelStaffEmail(1L);
+        Optional<String> owner = ownershipCache.getHotelStaffEmail(1L);
+
+        assertEquals(Optional.of("staff@hotel.com"), owner);
+        verify(userRepository, times(1)).findEmailByHotelId(1L);
+        assertEquals(2, ownershipCache.getStats().hotelHits());
+        assertEquals(1, ownershipCache.getStats().hotelMisses());
+    }
+
+    @Test
+    void shouldNotCacheMissingOwners() {
+        Optional<UserRepository.BookingOwner> owner = owner(1L, "guest@mail.com");
+        when(userRepository.findOwnerByBookingId(5L)).thenReturn(Optional.empty(), owner);
+
+        assertTrue(ownershipCache.getBookingOwnerEmail(5L).isEmpty());
+        assertEquals(Optional.of("guest@mail.com"), ownershipCache.getBookingOwnerEmail(5L));
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        Optional<UserRepository.BookingOwner> owner = owner(1L, "guest@mail.com");
+        when(userRepository.findOwnerByBookingId(5L)).thenReturn(owner);
+
+        ownershipCache.getBookingOwnerEmail(5L);
+        ownershipCache.evictBooking(5L);
+        ownershipCache.getBookingOwnerEmail(5L);
+
+        verify(userRepository, times(2)).findOwnerByBookingId(5L);
+    }
+
+    @Test
+    void shouldOnlyDropTheDeletedHotelsBookings() {
+        Optional<UserRepository.BookingOwner> guest = owner(1L, "guest@mail.com");
+        Optional<UserRepository.BookingOwner> otherGuest = owner(2L, "other@mail.com");
+        when(userRepository.findOwnerByBookingId(5L)).thenReturn(guest);
+        when(userRepository.findOwnerByBookingId(6L)).thenReturn(otherGuest);
+        ownershipCache.getBookingOwnerEmail(5L);
+        ownershipCache.getBookingOwnerEmail(6L);
+
+        ownershipCache.evictHotel(1L);
+        ownershipCache.getBookingOwnerEmail(5L);
+        ownershipCache.getBookingOwnerEmail(6L);
+
+        verify(userRepository, times(2)).findOwnerByBookingId(5L);
+        verify(userRepository, times(1)).findOwnerByBookingId(6L);
+    }
+
+    private static Optional<UserRepository.BookingOwner> owner(Long hotelId, String email) {
+        UserRepository.BookingOwner owner = mock(UserRepository.BookingOwner.class);
+        when(owner.getHotelId()).thenReturn(hotelId);
+        when(owner.getEmail()).thenReturn(email);
+        return Optional.of(owner);
+    }
+}
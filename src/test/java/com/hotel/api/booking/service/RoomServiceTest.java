@@ -0,0 +1,116 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.dto.request.RoomInfoDTO;
+import com.hotel.api.booking.dto.response.RoomImportErrorDTO;
+import com.hotel.api.booking.dto.response.RoomImportResponseDTO;
+import com.hotel.api.booking.exception.HotelMaximumRoomCountExceededException;
+import com.hotel.api.booking.index.OccupancyIndex;
+import com.hotel.api.booking.model.GeoLocation;
+import com.hotel.api.booking.model.Hotel;
+import com.hotel.api.booking.model.Room;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import com.hotel.api.booking.repository.BookingRepository;
+import com.hotel.api.booking.repository.HotelRepository;
+import com.hotel.api.booking.repository.RoomRepository;
+import com.hotel.api.booking.util.RoomImportReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RoomServiceTest {
+
+    private RoomRepository roomRepo;
+    private HotelRepository hotelRepo;
+    private RoomService roomService;
+
+    private final Hotel hotel = new Hotel(1L, "Taj hotel", 4, new GeoLocation(), null, new HashSet<>(), new HashSet<>());
+
+    @BeforeEach
+    void setup() {
+        roomRepo = mock(RoomRepository.class);
+        hotelRepo = mock(HotelRepository.class);
+        roomService = new RoomService(roomRepo, hotelRepo, mock(BookingRepository.class), mock(OccupancyIndex.class),
+                mock(CatalogVersions.class), 5);
+        when(hotelRepo.findById(1L)).thenReturn(Optional.of(hotel));
+        when(roomRepo.findRoomNumbersByHotelId(1L)).thenReturn(Set.of(101));
+        when(hotelRepo.reserveRooms(eq(1L), anyInt())).thenReturn(Optional.of(1));
+        hotel.setCurrentRoomCount(1);
+    }
+
+    @Test
+    void shouldCreateRoomOnlyWhenACounterSlotIsReserved() {
+        when(hotelRepo.reserveRooms(1L, 1)).thenReturn(Optional.of(2), Optional.empty());
+
+        roomService.createRoom(new Room(), 1L);
+
+        assertThrows(HotelMaximumRoomCountExceededException.class, () -> roomService.createRoom(new Room(), 1L));
+        verify(roomRepo, times(1)).save(any(Room.class));
+    }
+
+    @Test
+    void shouldSkipDuplicatesAndRowsPastRoomCount() {
+        RoomImportResponseDTO response = roomService.importRooms(1L, List.of(
+                row(1, 101), row(2, 102), row(3, 102), row(4, 103),
+                new RoomImportReader.Row(5, null, "Unreadable row"), row(6, 104), row(7, 105)).iterator());
+
+        assertEquals(3, response.imported());
+        assertEquals(4, response.rejected());
+        assertEquals(List.of(1L, 3L, 5L, 7L), response.errors().stream().map(RoomImportErrorDTO::line).toList());
+        assertEquals(105, response.errors().get(3).roomNumber());
+        verify(roomRepo, times(1)).findRoomNumbersByHotelId(1L);
+        verify(hotelRepo, times(1)).reserveRooms(1L, 3);
+        verify(roomRepo, never()).save(any(Room.class));
+    }
+
+    @Test
+    void shouldCountEveryRejectedRowButDescribeOnlyTheFirst() {
+        RoomImportResponseDTO response = roomService.importRooms(1L,
+                IntStream.rangeClosed(1, 10).mapToObj(line -> row(line, 101)).iterator());
+
+        assertEquals(0, response.imported());
+        assertEquals(10, response.rejected());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), response.errors().stream().map(RoomImportErrorDTO::line).toList());
+    }
+
+    @Test
+    void shouldSaveRoomsInBatches() {
+        hotel.setRoomCount(200);
+
+        RoomImportResponseDTO response = roomService.importRooms(1L,
+                IntStream.rangeClosed(1, 120).mapToObj(line -> row(line, 200 + line)).iterator());
+
+        assertEquals(120, response.imported());
+        assertTrue(response.errors().isEmpty());
+        verify(roomRepo, times(3)).saveAll(anyList());
+        verify(roomRepo, times(3)).flush();
+        verify(hotelRepo, times(2)).reserveRooms(1L, 50);
+        verify(hotelRepo, times(1)).reserveRooms(1L, 20);
+    }
+
+    @Test
+    void shouldAbortImportWhenAConcurrentCreateTookTheCapacity() {
+        when(hotelRepo.reserveRooms(eq(1L), anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(HotelMaximumRoomCountExceededException.class,
+                () -> roomService.importRooms(1L, List.of(row(1, 102)).iterator()));
+        verify(roomRepo, never()).saveAll(anyList());
+    }
+
+    private static RoomImportReader.Row row(long line, int roomNumber) {
+        return new RoomImportReader.Row(line,
+                new RoomInfoDTO(roomNumber, RoomType.SINGLE, 1500, RoomStatus.AVAILABLE), null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.api.booking.service;
+
+import com.hotel.api.booking.model.TokenRevocation;
+import com.hotel.api.booking.repository.TokenRevocationRepository;
+import com.hotel.api.booking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TokenRevocationServiceTest {
+
+    private TokenRevocationRepository revocationRepo;
+    private UserRepository userRepo;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setup() {
+        revocationRepo = mock(TokenRevocationRepository.class);
+        userRepo = mock(UserRepository.class);
+        revocationService = new TokenRevocationService(revocationRepo, userRepo);
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeRevocation() {
+        when(userRepo.existsById(7L)).thenReturn(true);
+        Date issuedBefore = Date.from(Instant.now().minus(1, ChronoUnit.HOURS));
+
+        revocationService.revoke(7L);
+
+        assertTrue(revocationService.isRevoked(7L, issuedBefore));
+        assertFalse(revocationService.isRevoked(7L, Date.from(Instant.now().plusSeconds(5))));
+        assertFalse(revocationService.isRevoked(8L, issuedBefore));
+    }
+
+    @Test
+    void shouldPickUpRevocationsMadeElsewhereOnRefresh() {
+        Instant revokedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        when(revocationRepo.findAllRevokedSince(any())).thenReturn(List.of(new TokenRevocation(9L, revokedAt)));
+
+        revocationService.refresh();
+
+        assertTrue(revocationService.isRevoked(9L, Date.from(revokedAt.minusSeconds(60))));
+        assertFalse(revocationService.isRevoked(9L, Date.from(revokedAt.plusSeconds(60))));
+    }
+}
@@ -0,0 +1,144 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncLogWriterTest {
+
+    @Test
+    void ringBufferShouldKeepOrderAndRejectWhenFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++)
+            assertTrue(buffer.offer(i, true));
+        assertFalse(buffer.offer(4, true));
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4, true));
+        assertEquals(List.of(1, 2, 3, 4), List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()));
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void ringBufferShouldShedLowPriorityElementsFirst() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(8);
+
+        for (int i = 0; i < 6; i++)
+            assertTrue(buffer.offer(i, false));
+        assertFalse(buffer.offer(6, false));
+        assertTrue(buffer.offer(6, true));
+    }
+
+    @Test
+    void shouldCaptureOneStackTracePerKeyAndInterval() {
+        AsyncLogWriter writer = new AsyncLogWriter(16, TimeUnit.HOURS.toNanos(1));
+
+        assertTrue(writer.shouldCaptureStackTrace(1500));
+        assertFalse(writer.shouldCaptureStackTrace(1500));
+        assertTrue(writer.shouldCaptureStackTrace(1501));
+        assertTrue(new AsyncLogWriter(16, 0).shouldCaptureStackTrace(1500));
+    }
+
+    @Test
+    void shouldWriteJsonEventsAndReportDrops() throws Exception {
+        AsyncLogWriter writer = new AsyncLogWriter(2, 0);
+        java.util.logging.Logger sink = java.util.logging.Logger.getLogger("async-log-writer-test");
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        sink.setUseParentHandlers(false);
+        sink.addHandler(handler);
+        java.util.logging.Logger.getLogger(AsyncLogWriter.class.getName()).addHandler(handler);
+        try {
+            Exception exception = new IllegalStateException("boom");
+            writer.submit(new LogEvent(sink, Level.SEVERE, 0, "main", "boom",
+                    exception.getClass().getName(), 1500, exception));
+            writer.submit(new LogEvent(sink, Level.SEVERE, 0, "main", "second", null, null, null));
+            writer.submit(new LogEvent(sink, Level.SEVERE, 0, "main", "dropped", null, null, null));
+
+            assertEquals(2, writer.drain());
+        } finally {
+            sink.removeHandler(handler);
+            java.util.logging.Logger.getLogger(AsyncLogWriter.class.getName()).removeHandler(handler);
+        }
+
+        JsonNode event = new ObjectMapper().readTree(records.get(0).getMessage());
+        assertEquals("SEVERE", event.get("level").asText());
+        assertEquals("async-log-writer-test", event.get("logger").asText());
+        assertEquals(1500, event.get("code").asInt());
+        assertEquals(IllegalStateException.class.getName(), event.get("exception").asText());
+        assertTrue(event.get("stackTrace").isArray());
+        assertFalse(new ObjectMapper().readTree(records.get(1).getMessage()).has("stackTrace"));
+        assertTrue(records.get(2).getMessage().contains("Dropped 1 log events"));
+    }
+
+    @Test
+    void shouldCountEventsTheSinkRejectsAndReportThem() {
+        AsyncLogWriter writer = new AsyncLogWriter(4, 0);
+        java.util.logging.Logger sink = java.util.logging.Logger.getLogger("async-log-writer-failing-test");
+        List<LogRecord> reports = new ArrayList<>();
+        Handler failing = new RecordingHandler(record -> {
+            throw new IllegalStateException("disk full");
+        });
+        Handler reporting = new RecordingHandler(reports::add);
+        sink.setUseParentHandlers(false);
+        sink.addHandler(failing);
+        java.util.logging.Logger.getLogger(AsyncLogWriter.class.getName()).addHandler(reporting);
+        try {
+            writer.submit(new LogEvent(sink, Level.INFO, 0, "main", "lost", null, null, null));
+            writer.submit(new LogEvent(sink, Level.INFO, 0, "main", "lost too", null, null, null));
+
+            assertEquals(0, writer.drain());
+        } finally {
+            sink.removeHandler(failing);
+            java.util.logging.Logger.getLogger(AsyncLogWriter.class.getName()).removeHandler(reporting);
+        }
+
+        assertEquals(1, reports.size());
+        assertTrue(reports.get(0).getMessage().contains("Failed to write 2 log events"));
+    }
+
+    private static final class RecordingHandler extends Handler {
+        private final Consumer<LogRecord> publisher;
+
+        private RecordingHandler(Consumer<LogRecord> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            publisher.accept(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
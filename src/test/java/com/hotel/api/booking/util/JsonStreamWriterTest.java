@@ -0,0 +1,76 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.api.booking.dto.response.BookingResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class JsonStreamWriterTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final JsonStreamWriter writer = new JsonStreamWriter(new ObjectMapper(), transactionManager);
+
+    @Test
+    void shouldWriteJsonArrayByDefault() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = writer.stream(() -> bookings(2), new MockHttpServletRequest());
+        String body = write(response);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertTrue(body.startsWith("[{\"id\":1,"));
+        assertEquals(2, new ObjectMapper().readTree(body).size());
+    }
+
+    @Test
+    void shouldWriteOneLinePerElementForNdjson() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept", "application/x-ndjson");
+        ResponseEntity<StreamingResponseBody> response = writer.stream(() -> bookings(1200), request);
+
+        String[] lines = write(response).split("\n");
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(1200, lines.length);
+        assertEquals(1200, new ObjectMapper().readTree(lines[1199]).get("id").asLong());
+    }
+
+    @Test
+    void shouldCloseTheStreamInsideAReadOnlyTransaction() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        write(writer.stream(() -> bookings(0).onClose(() -> closed.set(true)), new MockHttpServletRequest()));
+
+        assertTrue(closed.get());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Objects.requireNonNull(response.getBody()).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Stream<BookingResponseDTO> bookings(int count) {
+        Date day = Date.valueOf("2030-01-01");
+        return LongStream.rangeClosed(1, count).mapToObj(id ->
+                new BookingResponseDTO(id, 10L, "Tester", "Address", 9876543210L, day, day));
+    }
+}
@@ -0,0 +1,24 @@
+package com.hotel.api.booking.util;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fails a test when the wrapped call issues a different number of SQL statements than budgeted, listing the
+ * statements that ran. Only counts work on the calling thread, which is where MockMvc runs a request.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertStatements(long expected, ThrowingSupplier<T> call) throws Throwable {
+        try (QueryStatistics.Recording recording = QueryStatistics.start(true)) {
+            T result = call.get();
+            assertEquals(expected, recording.getStatements(),
+                    () -> "Statements issued:\n" + String.join("\n", recording.getSql()));
+            return result;
+        }
+    }
+}
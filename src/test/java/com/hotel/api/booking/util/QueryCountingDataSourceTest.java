@@ -0,0 +1,95 @@
+package com.hotel.api.booking.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class QueryCountingDataSourceTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(prepared);
+        when(connection.createStatement()).thenReturn(statement);
+        when(prepared.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        dataSource = new QueryCountingDataSource(target);
+    }
+
+    @Test
+    void shouldCountStatementsAndRowsInsideARecording() throws Exception {
+        try (QueryStatistics.Recording recording = QueryStatistics.start(true)) {
+            Connection connection = dataSource.getConnection();
+            ResultSet resultSet = connection.prepareStatement("select id from room").executeQuery();
+            while (resultSet.next()) {
+                // drain
+            }
+            connection.createStatement().executeUpdate("delete from room");
+
+            assertEquals(2, recording.getStatements());
+            assertEquals(2, recording.getRows());
+            assertEquals(List.of("select id from room", "delete from room"), recording.getSql());
+        }
+    }
+
+    @Test
+    void shouldCountNestedRecordingsTowardsTheOuterOne() throws Exception {
+        Connection connection = dataSource.getConnection();
+        try (QueryStatistics.Recording outer = QueryStatistics.start()) {
+            connection.createStatement().execute("select 1");
+            try (QueryStatistics.Recording inner = QueryStatistics.start()) {
+                connection.prepareStatement("select id from room").executeQuery();
+                assertEquals(1, inner.getStatements());
+            }
+            connection.createStatement().execute("select 2");
+            assertEquals(3, outer.getStatements());
+        }
+        assertFalse(QueryStatistics.isRecording());
+    }
+
+    @Test
+    void shouldCountHandedOffWorkTowardsTheRecordingItCameFrom() throws Exception {
+        Connection connection = dataSource.getConnection();
+        boolean[] leftRecording = {true};
+        try (QueryStatistics.Recording request = QueryStatistics.start()) {
+            Thread worker = Thread.ofVirtual().start(() -> {
+                try (QueryStatistics.Recording ignored = QueryStatistics.startWithin(request)) {
+                    connection.createStatement().execute("select 1");
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+                leftRecording[0] = QueryStatistics.isRecording();
+            });
+            worker.join();
+
+            assertEquals(1, request.getStatements());
+            assertFalse(leftRecording[0]);
+        }
+    }
+
+    @Test
+    void shouldPassThroughOutsideARecording() throws Exception {
+        ResultSet resultSet = dataSource.getConnection().prepareStatement("select id from room").executeQuery();
+
+        assertFalse(Proxy.isProxyClass(resultSet.getClass()));
+        assertTrue(resultSet.next());
+    }
+}
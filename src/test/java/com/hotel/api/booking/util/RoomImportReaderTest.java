@@ -0,0 +1,69 @@
+package com.hotel.api.booking.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.api.booking.dto.request.RoomInfoDTO;
+import com.hotel.api.booking.exception.InvalidRoomImportException;
+import com.hotel.api.booking.model.RoomStatus;
+import com.hotel.api.booking.model.RoomType;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomImportReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void shouldReadCsvColumnsInHeaderOrder() {
+        List<RoomImportReader.Row> rows = read(true, """
+                status,price,roomNumber,type
+                AVAILABLE,1500.0,101,SINGLE
+
+                unavailable,2500,102,double
+                """);
+
+        assertEquals(List.of(
+                new RoomImportReader.Row(2, new RoomInfoDTO(101, RoomType.SINGLE, 1500, RoomStatus.AVAILABLE), null),
+                new RoomImportReader.Row(4, new RoomInfoDTO(102, RoomType.DOUBLE, 2500, RoomStatus.UNAVAILABLE), null)),
+                rows);
+    }
+
+    @Test
+    void shouldReportBadRowsAndKeepReading() {
+        List<RoomImportReader.Row> rows = read(false, """
+                {"roomNumber": 101, "type": "SINGLE", "price": 1500, "status": "AVAILABLE"}
+                {"roomNumber": 102, "type": "SUITE", "price": 1500, "status": "AVAILABLE"}
+                {"roomNumber": 0, "type": "SINGLE", "price": 1500, "status": "AVAILABLE"}
+                {"roomNumber": 103, "type": "DOUBLE", "price": 1500, "status": "AVAILABLE"}
+                """);
+
+        assertEquals(4, rows.size());
+        assertNull(rows.get(0).error());
+        assertEquals("Unreadable row", rows.get(1).error());
+        assertEquals(3, rows.get(2).line());
+        assertTrue(rows.get(2).error().startsWith("roomNumber"));
+        assertEquals(103, rows.get(3).room().roomNumber());
+        assertNull(rows.get(3).error());
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        assertThrows(InvalidRoomImportException.class, () -> read(true, "roomNumber,type,price\n101,SINGLE,1500\n"));
+    }
+
+    private List<RoomImportReader.Row> read(boolean csv, String body) {
+        RoomImportReader reader = new RoomImportReader(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), csv, mapper, validator);
+        List<RoomImportReader.Row> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
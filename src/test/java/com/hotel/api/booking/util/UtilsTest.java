@@ -1,12 +1,22 @@
 package com.hotel.api.booking.util;
 
+import com.hotel.api.booking.dto.request.HotelCreateRequestDTO;
+import com.hotel.api.booking.dto.request.UserDTO;
+import com.hotel.api.booking.dto.response.CursorPageResponseDTO;
+import com.hotel.api.booking.exception.InvalidPageRequestException;
 import com.hotel.api.booking.model.Authority;
+import com.hotel.api.booking.model.GeoLocation;
+import com.hotel.api.booking.model.Hotel;
 import com.hotel.api.booking.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,4 +67,77 @@ public class UtilsTest {
         assertEquals(expected.getName(), actualUser.getName());
         assertNull(actualUser.getId());
     }
+
+    @Test
+    void shouldNotOverwriteWithNullValues() {
+        User source = new User(null, "admin@admin.com", null, Authority.USER);
+        User target = new User("test121", "old@admin.com", "test123", Authority.ADMIN);
+
+        GeneralUtils.map(source, target);
+
+        assertEquals("test121", target.getName());
+        assertEquals("admin@admin.com", target.getEmail());
+        assertEquals("test123", target.getPassword());
+        assertEquals(Authority.USER, target.getAuthority());
+    }
+
+    @Test
+    void shouldSkipFieldsWithoutAssignableCounterpart() {
+        GeoLocation location = new GeoLocation();
+        HotelCreateRequestDTO source = new HotelCreateRequestDTO("Taj hotel", 100, location,
+                new UserDTO("Staff", "staff@hotel.com", "password1"));
+        Hotel target = new Hotel();
+
+        GeneralUtils.map(source, target, false);
+
+        assertEquals("Taj hotel", target.getName());
+        assertEquals(100, target.getRoomCount());
+        assertSame(location, target.getLocation());
+        assertNull(target.getUser());
+    }
+
+    @Test
+    void shouldRoundTripCursor() {
+        String cursor = CursorUtils.encode(4242L);
+
+        assertEquals(4242L, CursorUtils.decode(cursor, 0));
+        assertEquals(0L, CursorUtils.decode(null, 0));
+    }
+
+    @Test
+    void shouldRejectMalformedCursorsAndSizes() {
+        assertAll(
+                () -> assertThrows(InvalidPageRequestException.class, () -> CursorUtils.decode("not a cursor", 0)),
+                () -> assertThrows(InvalidPageRequestException.class, () -> CursorUtils.decode("MTIz", 0)),
+                () -> assertThrows(InvalidPageRequestException.class, () -> CursorUtils.pageSize(0, 0)),
+                () -> assertThrows(InvalidPageRequestException.class,
+                        () -> CursorUtils.pageSize(CursorUtils.MAX_PAGE_SIZE + 1, 0))
+        );
+    }
+
+    @Test
+    void shouldPointNextCursorAtLastRowOfPage() {
+        CursorPageResponseDTO<Long> page = CursorPageResponseDTO.of(List.of(1L, 2L, 3L), 2, id -> id);
+        CursorPageResponseDTO<Long> lastPage = CursorPageResponseDTO.of(List.of(3L), 2, id -> id);
+
+        assertEquals(List.of(1L, 2L), page.content());
+        assertEquals(2L, CursorUtils.decode(page.next(), 0));
+        assertNull(lastPage.next());
+    }
+
+    @Test
+    void shouldRunCheckOnlyForEmptyStreams() {
+        AtomicInteger checks = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        List<Integer> values = GeneralUtils.checkIfEmpty(Stream.of(1, 2), checks::incrementAndGet).toList();
+        Stream<Integer> empty = Stream.<Integer>empty().onClose(() -> closed.set(true));
+
+        assertEquals(List.of(1, 2), values);
+        assertEquals(0, checks.get());
+        assertThrows(IllegalStateException.class, () -> GeneralUtils.checkIfEmpty(empty, () -> {
+            throw new IllegalStateException();
+        }));
+        assertTrue(closed.get());
+    }
 }